@@ -0,0 +1,57 @@
+package com.productmanagement.dao;
+
+import com.productmanagement.DBConnection;
+import com.productmanagement.generator.CatalogGenerator;
+import com.productmanagement.generator.GeneratorConfig;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+
+final class BenchmarkCatalog {
+    static final Instant FIRST_CREATION = Instant.parse("2020-01-01T00:00:00Z");
+    static final Instant LAST_CREATION = Instant.parse("2025-01-01T00:00:00Z");
+
+    private BenchmarkCatalog() {}
+
+    // Rows depend only on the seed and product index, so topping up an existing catalog yields
+    // the same data as generating it in one go.
+    static void ensureSize(int catalogSize) throws SQLException {
+        int existing = countProducts();
+        if (existing >= catalogSize) {
+            return;
+        }
+        System.out.println("Seeding benchmark catalog from " + existing + " to " + catalogSize + " products");
+
+        GeneratorConfig config = new GeneratorConfig();
+        config.setFirstIndex(existing);
+        config.setProductCount(catalogSize - existing);
+        config.setCreationStart(FIRST_CREATION);
+        config.setCreationEnd(LAST_CREATION);
+        try {
+            System.out.println(new CatalogGenerator(config).load());
+        } catch (IOException e) {
+            throw new SQLException("Failed to stream generated catalog", e);
+        }
+        analyze();
+    }
+
+    private static int countProducts() throws SQLException {
+        try (Connection conn = new DBConnection().getDBConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT count(*) FROM product")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static void analyze() throws SQLException {
+        try (Connection conn = new DBConnection().getDBConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("ANALYZE product");
+            stmt.execute("ANALYZE product_category");
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.productmanagement.dao;
+
+import com.productmanagement.DBConnection;
+import com.productmanagement.model.Category;
+import com.productmanagement.model.Product;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Runs against the database from database.properties (db.* system properties override it),
+// which should be a scratch instance: the catalog is topped up to catalogSize products first.
+// mvn -P benchmark compile exec:exec -Djmh.args="-p catalogSize=10000 -jvmArgsAppend -Ddb.url=..."
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class DataRetrieverBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    public int catalogSize;
+
+    @Param({"50"})
+    public int pageSize;
+
+    private DataRetriever retriever;
+    private int deepPage;
+    private String deepCursor;
+    private Instant windowStart;
+    private Instant windowEnd;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchmarkCatalog.ensureSize(catalogSize);
+        // A zero TTL keeps every call on the database path being measured.
+        retriever = DataRetriever.builder(new DBConnection()).categoryCache(new CategoryCache(1, 0)).build();
+
+        deepPage = Math.max(1, catalogSize / pageSize / 2);
+        deepCursor = PageCursor.encode(catalogSize / 2);
+        windowStart = BenchmarkCatalog.FIRST_CREATION.plus(365, ChronoUnit.DAYS);
+        windowEnd = windowStart.plus(30, ChronoUnit.DAYS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DBConnection.closePool();
+    }
+
+    @Benchmark
+    public List<Category> getAllCategories() {
+        return retriever.getAllCategories();
+    }
+
+    @Benchmark
+    public List<Product> getProductListFirstPage() {
+        return retriever.getProductList(1, pageSize);
+    }
+
+    @Benchmark
+    public List<Product> getProductListDeepPage() {
+        return retriever.getProductList(deepPage, pageSize);
+    }
+
+    @Benchmark
+    public ProductPage getProductPageDeepCursor() {
+        return retriever.getProductPage(deepCursor, pageSize);
+    }
+
+    @Benchmark
+    public List<Product> getProductsByCriteriaName() {
+        return retriever.getProductsByCriteria("phone", null, null, null, 1, pageSize);
+    }
+
+    @Benchmark
+    public List<Product> getProductsByCriteriaCategory() {
+        return retriever.getProductsByCriteria(null, "audio", null, null, 1, pageSize);
+    }
+
+    @Benchmark
+    public List<Product> getProductsByCriteriaDateWindow() {
+        return retriever.getProductsByCriteria(null, null, windowStart, windowEnd, 1, pageSize);
+    }
+
+    @Benchmark
+    public List<Product> getProductsByCriteriaAllFilters() {
+        return retriever.getProductsByCriteria("laptop", "info", windowStart, windowEnd, 1, pageSize);
+    }
+
+    // Large pages make row mapping (mapResultSetToProduct) the dominant cost.
+    @Benchmark
+    public List<Product> mapResultSetToProduct10k() {
+        return retriever.getProductsByCriteria(null, null, null, null, 1, 10000);
+    }
+}
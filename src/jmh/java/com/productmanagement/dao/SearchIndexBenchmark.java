@@ -0,0 +1,111 @@
+package com.productmanagement.dao;
+
+import com.productmanagement.DBConnection;
+import com.productmanagement.SchemaMigrator;
+import com.productmanagement.model.Product;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Compares the criteria search with and without the V2 search indexes.
+// mvn -P benchmark compile exec:exec -Djmh.args="SearchIndexBenchmark -p catalogSize=1000000"
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class SearchIndexBenchmark {
+    private static final String SEARCH_INDEX_SCRIPT = "sql/migrations/V2__search_indexes.sql";
+
+    @Param({"1000000"})
+    public int catalogSize;
+
+    @Param({"absent", "present"})
+    public String indexes;
+
+    private DataRetriever retriever;
+    private Instant windowStart;
+    private Instant windowEnd;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchmarkCatalog.ensureSize(catalogSize);
+        new SchemaMigrator().migrate();
+        // Trials share one database, so each one puts the indexes into the state it measures
+        // rather than relying on what the previous trial left behind.
+        if ("absent".equals(indexes)) {
+            dropSearchIndexes();
+        } else {
+            createSearchIndexes();
+        }
+        retriever = DataRetriever.builder(new DBConnection()).categoryCache(new CategoryCache(1, 0)).build();
+        windowStart = BenchmarkCatalog.FIRST_CREATION.plus(365, ChronoUnit.DAYS);
+        windowEnd = windowStart.plus(7, ChronoUnit.DAYS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        if ("absent".equals(indexes)) {
+            createSearchIndexes();
+        }
+        DBConnection.closePool();
+    }
+
+    @Benchmark
+    public List<Product> rareNameTerm() {
+        return retriever.getProductsByCriteria("kalo", null, null, null, 1, 50);
+    }
+
+    @Benchmark
+    public List<Product> categoryTerm() {
+        return retriever.getProductsByCriteria(null, "stockage", null, null, 1, 50);
+    }
+
+    @Benchmark
+    public List<Product> dateWindow() {
+        return retriever.getProductsByCriteria(null, null, windowStart, windowEnd);
+    }
+
+    @Benchmark
+    public List<Product> deepOffsetPage() {
+        return retriever.getProductList(catalogSize / 100, 50);
+    }
+
+    private void dropSearchIndexes() throws SQLException {
+        try (Connection conn = new DBConnection().getDBConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP INDEX IF EXISTS idx_product_category_product_id");
+            stmt.execute("DROP INDEX IF EXISTS idx_product_creation_datetime");
+            stmt.execute("DROP INDEX IF EXISTS idx_product_name_trgm");
+            stmt.execute("DROP INDEX IF EXISTS idx_product_category_name_trgm");
+        }
+    }
+
+    // Runs the V2 script itself: it only creates missing indexes, and the migrator would not
+    // re-apply a version below the recorded maximum.
+    private void createSearchIndexes() throws SQLException {
+        String script;
+        try (InputStream input = SearchIndexBenchmark.class.getClassLoader()
+                .getResourceAsStream(SEARCH_INDEX_SCRIPT)) {
+            if (input == null) {
+                throw new SQLException("Migration script not found: " + SEARCH_INDEX_SCRIPT);
+            }
+            script = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new SQLException("Failed to read migration script " + SEARCH_INDEX_SCRIPT, e);
+        }
+        try (Connection conn = new DBConnection().getDBConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute(script);
+        }
+    }
+}
@@ -0,0 +1,408 @@
+package com.productmanagement;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class ConnectionPool implements AutoCloseable {
+    private final String url;
+    private final Properties connectionProperties;
+    private final int minSize;
+    private final int maxSize;
+    private final long acquireTimeoutNanos;
+    private final long idleTimeoutNanos;
+    private final long validationIntervalNanos;
+    private final int validationTimeoutSeconds;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition released = lock.newCondition();
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final ScheduledExecutorService housekeeper;
+
+    private int total;
+    private int active;
+    private int waiters;
+    private boolean closed;
+    private long acquireCount;
+    private long timeoutCount;
+    private long createdCount;
+    private long destroyedCount;
+    private long totalWaitNanos;
+    private long maxWaitNanos;
+
+    public ConnectionPool(String url, Properties connectionProperties, int minSize, int maxSize,
+                          long acquireTimeoutMillis, long idleTimeoutMillis,
+                          long validationIntervalMillis, int validationTimeoutSeconds) {
+        if (maxSize <= 0 || minSize < 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.connectionProperties = connectionProperties;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.acquireTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMillis);
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        this.validationIntervalNanos = TimeUnit.MILLISECONDS.toNanos(validationIntervalMillis);
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "connection-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long periodMillis = Math.max(1000, idleTimeoutMillis / 2);
+        housekeeper.scheduleWithFixedDelay(() -> {
+            // An exception escaping the task would cancel every later run, ending idle eviction
+            // and prefill for the life of the pool.
+            try {
+                housekeep();
+            } catch (RuntimeException e) {
+                System.err.println("Connection pool housekeeping failed: " + e);
+            }
+        }, 0, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + acquireTimeoutNanos;
+
+        while (true) {
+            PooledConnection candidate = null;
+            boolean create = false;
+
+            lock.lock();
+            try {
+                while (true) {
+                    if (closed) {
+                        throw new SQLException("Connection pool is closed");
+                    }
+                    candidate = idle.pollFirst();
+                    if (candidate != null) {
+                        break;
+                    }
+                    if (total < maxSize) {
+                        total++;
+                        create = true;
+                        break;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        timeoutCount++;
+                        throw new SQLTimeoutException("Timed out after " +
+                                TimeUnit.NANOSECONDS.toMillis(acquireTimeoutNanos) +
+                                " ms waiting for a database connection (max pool size " + maxSize + ")");
+                    }
+                    waiters++;
+                    try {
+                        released.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a database connection", e);
+                    } finally {
+                        waiters--;
+                    }
+                }
+                active++;
+            } finally {
+                lock.unlock();
+            }
+
+            if (create) {
+                try {
+                    candidate = openConnection();
+                } catch (SQLException | RuntimeException e) {
+                    discard(null);
+                    throw e;
+                }
+                lock.lock();
+                try {
+                    createdCount++;
+                } finally {
+                    lock.unlock();
+                }
+            } else if (!isUsable(candidate)) {
+                discard(candidate);
+                continue;
+            }
+
+            recordWait(System.nanoTime() - start);
+            return candidate.lease();
+        }
+    }
+
+    public PoolStats getStats() {
+        lock.lock();
+        try {
+            return new PoolStats(total, active, idle.size(), waiters, acquireCount, timeoutCount,
+                    createdCount, destroyedCount, totalWaitNanos, maxWaitNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public void close() {
+        List<PooledConnection> toClose;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            toClose = new ArrayList<>(idle);
+            idle.clear();
+            total -= toClose.size();
+            destroyedCount += toClose.size();
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        housekeeper.shutdownNow();
+        toClose.forEach(PooledConnection::closePhysical);
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        if (System.nanoTime() - pooled.lastReleasedAt < validationIntervalNanos) {
+            return true;
+        }
+        try {
+            return pooled.physical.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void recordWait(long waitNanos) {
+        lock.lock();
+        try {
+            acquireCount++;
+            totalWaitNanos += waitNanos;
+            if (waitNanos > maxWaitNanos) {
+                maxWaitNanos = waitNanos;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(PooledConnection pooled) {
+        if (!pooled.reset()) {
+            discard(pooled);
+            return;
+        }
+        lock.lock();
+        try {
+            active--;
+            if (closed) {
+                total--;
+                destroyedCount++;
+            } else {
+                pooled.lastReleasedAt = System.nanoTime();
+                idle.addFirst(pooled);
+                released.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        pooled.closePhysical();
+    }
+
+    private void discard(PooledConnection pooled) {
+        lock.lock();
+        try {
+            active--;
+            total--;
+            if (pooled != null) {
+                destroyedCount++;
+            }
+            released.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (pooled != null) {
+            pooled.closePhysical();
+        }
+    }
+
+    private void housekeep() {
+        List<PooledConnection> evicted = new ArrayList<>();
+        int missing;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            long now = System.nanoTime();
+            Iterator<PooledConnection> oldestFirst = idle.descendingIterator();
+            while (oldestFirst.hasNext() && total - evicted.size() > minSize) {
+                PooledConnection pooled = oldestFirst.next();
+                if (now - pooled.lastReleasedAt >= idleTimeoutNanos) {
+                    oldestFirst.remove();
+                    evicted.add(pooled);
+                }
+            }
+            total -= evicted.size();
+            destroyedCount += evicted.size();
+            missing = minSize - total;
+            total += Math.max(missing, 0);
+        } finally {
+            lock.unlock();
+        }
+        evicted.forEach(PooledConnection::closePhysical);
+
+        for (int i = 0; i < missing; i++) {
+            try {
+                PooledConnection pooled = openConnection();
+                boolean poolClosed;
+                lock.lock();
+                try {
+                    createdCount++;
+                    // close() may have run while the connection was being opened; it has already
+                    // drained idle, so the new connection and the remaining reserved slots are dropped.
+                    poolClosed = closed;
+                    if (poolClosed) {
+                        destroyedCount++;
+                        total -= missing - i;
+                    } else {
+                        pooled.lastReleasedAt = System.nanoTime();
+                        idle.addLast(pooled);
+                        released.signal();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                if (poolClosed) {
+                    pooled.closePhysical();
+                    return;
+                }
+            } catch (SQLException | RuntimeException e) {
+                lock.lock();
+                try {
+                    total -= missing - i;
+                } finally {
+                    lock.unlock();
+                }
+                System.err.println("Error pre-filling connection pool: " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    // The physical connection is closed here if wrapping it fails, since no caller holds it yet.
+    private PooledConnection openConnection() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, connectionProperties);
+        try {
+            return new PooledConnection(physical);
+        } catch (SQLException | RuntimeException e) {
+            try {
+                physical.close();
+            } catch (SQLException closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+            throw e;
+        }
+    }
+
+    private final class PooledConnection {
+        private final Connection physical;
+        private final int defaultIsolation;
+        private volatile long lastReleasedAt;
+
+        private PooledConnection(Connection physical) throws SQLException {
+            this.physical = physical;
+            this.defaultIsolation = physical.getTransactionIsolation();
+            this.lastReleasedAt = System.nanoTime();
+        }
+
+        private Connection lease() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new LeaseHandler(this));
+        }
+
+        private boolean reset() {
+            try {
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                if (physical.isReadOnly()) {
+                    physical.setReadOnly(false);
+                }
+                if (physical.getTransactionIsolation() != defaultIsolation) {
+                    physical.setTransactionIsolation(defaultIsolation);
+                }
+                physical.clearWarnings();
+                return !physical.isClosed();
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        private void closePhysical() {
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing pooled connection: " + e.getMessage());
+            }
+        }
+    }
+
+    private final class LeaseHandler implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean returned;
+
+        private LeaseHandler(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + "]";
+                default:
+                    if (returned) {
+                        throw new SQLException("Connection has already been returned to the pool");
+                    }
+                    try {
+                        return method.invoke(pooled.physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
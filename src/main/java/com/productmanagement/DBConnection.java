@@ -3,33 +3,219 @@ package com.productmanagement;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 import java.io.InputStream;
 
 public class DBConnection {
+    private static final Object INIT_LOCK = new Object();
+    private static volatile Properties properties;
+    private static volatile ConnectionPool pool;
+    private static volatile ReplicaRouter replicaRouter;
+    private static volatile boolean replicasLoaded;
 
     public Connection getDBConnection() throws SQLException {
-        Properties props = new Properties();
+        return getPool().getConnection();
+    }
+
+    // Connection for read-only work: from a healthy replica within db.replica.maxLagMs when
+    // db.replica.urls lists any, otherwise from the primary. Marked read-only either way.
+    public Connection getReadConnection() throws SQLException {
+        ReplicaRouter router = getReplicaRouter();
+        Connection conn = router != null ? router.getConnection() : null;
+        if (conn == null) {
+            conn = getDBConnection();
+        }
+        conn.setReadOnly(true);
+        return conn;
+    }
+
+    // Empty when no replicas are configured.
+    public List<ReplicaStatus> getReplicaStatus() throws SQLException {
+        ReplicaRouter router = getReplicaRouter();
+        return router != null ? router.getStatus() : new ArrayList<>();
+    }
+
+    // Read connections served by the primary because no replica was eligible.
+    public long getReadFallbackCount() throws SQLException {
+        ReplicaRouter router = getReplicaRouter();
+        return router != null ? router.getPrimaryFallbackCount() : 0;
+    }
+
+    // Unpooled connection for long-lived sessions such as LISTEN; the caller closes it.
+    public Connection openDedicatedConnection() throws SQLException {
+        Properties props = loadProperties();
+        return DriverManager.getConnection(props.getProperty("db.url"), connectionProperties(props));
+    }
+
+    public PoolStats getPoolStats() throws SQLException {
+        return getPool().getStats();
+    }
+
+    public int getMaxPoolSize() throws SQLException {
+        return getPool().getMaxSize();
+    }
 
-        try (InputStream input = getClass().getClassLoader()
-                .getResourceAsStream("database.properties")) {
+    public int getIntProperty(String key, int defaultValue) {
+        try {
+            return intProperty(loadProperties(), key, defaultValue);
+        } catch (SQLException e) {
+            System.err.println("Error reading " + key + ": " + e.getMessage());
+            return defaultValue;
+        }
+    }
+
+    public String getProperty(String key, String defaultValue) {
+        try {
+            String value = loadProperties().getProperty(key);
+            return value == null || value.isBlank() ? defaultValue : value.trim();
+        } catch (SQLException e) {
+            System.err.println("Error reading " + key + ": " + e.getMessage());
+            return defaultValue;
+        }
+    }
+
+    public boolean getBooleanProperty(String key, boolean defaultValue) {
+        try {
+            String value = loadProperties().getProperty(key);
+            return value == null || value.isBlank() ? defaultValue : Boolean.parseBoolean(value.trim());
+        } catch (SQLException e) {
+            System.err.println("Error reading " + key + ": " + e.getMessage());
+            return defaultValue;
+        }
+    }
 
-            if (input == null) {
-                throw new SQLException("database.properties not found");
+    public static void closePool() {
+        synchronized (INIT_LOCK) {
+            if (pool != null) {
+                pool.close();
+                pool = null;
+            }
+            if (replicaRouter != null) {
+                replicaRouter.close();
+                replicaRouter = null;
             }
+            replicasLoaded = false;
+        }
+    }
 
-            props.load(input);
+    static ConnectionPool getPool() throws SQLException {
+        ConnectionPool current = pool;
+        if (current != null) {
+            return current;
+        }
+        synchronized (INIT_LOCK) {
+            if (pool == null) {
+                pool = createPool(loadProperties());
+            }
+            return pool;
+        }
+    }
+
+    static ReplicaRouter getReplicaRouter() throws SQLException {
+        if (replicasLoaded) {
+            return replicaRouter;
+        }
+        synchronized (INIT_LOCK) {
+            if (!replicasLoaded) {
+                replicaRouter = createReplicaRouter(loadProperties());
+                replicasLoaded = true;
+            }
+            return replicaRouter;
+        }
+    }
+
+    static Properties loadProperties() throws SQLException {
+        Properties current = properties;
+        if (current != null) {
+            return current;
+        }
+        synchronized (INIT_LOCK) {
+            if (properties != null) {
+                return properties;
+            }
+            Properties props = new Properties();
 
-            String url = props.getProperty("db.url");
-            String user = props.getProperty("db.username");
-            String password = props.getProperty("db.password");
+            try (InputStream input = DBConnection.class.getClassLoader()
+                    .getResourceAsStream("database.properties")) {
 
-            Class.forName("org.postgresql.Driver");
+                if (input == null) {
+                    throw new SQLException("database.properties not found");
+                }
 
-            return DriverManager.getConnection(url, user, password);
+                props.load(input);
+                for (String key : System.getProperties().stringPropertyNames()) {
+                    if (key.startsWith("db.")) {
+                        props.setProperty(key, System.getProperty(key));
+                    }
+                }
+                Class.forName("org.postgresql.Driver");
+
+            } catch (SQLException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new SQLException("Failed to load database configuration", e);
+            }
 
-        } catch (Exception e) {
-            throw new SQLException("Failed to get database connection", e);
+            properties = props;
+            return props;
         }
     }
-}
\ No newline at end of file
+
+    private static ConnectionPool createPool(Properties props) {
+        return createPool(props, props.getProperty("db.url"));
+    }
+
+    private static ConnectionPool createPool(Properties props, String url) {
+        return new ConnectionPool(
+                url,
+                connectionProperties(props),
+                intProperty(props, "db.pool.minSize", 1),
+                intProperty(props, "db.pool.maxSize", 10),
+                intProperty(props, "db.pool.acquireTimeoutMs", 5000),
+                intProperty(props, "db.pool.idleTimeoutMs", 300000),
+                intProperty(props, "db.pool.validationIntervalMs", 1000),
+                intProperty(props, "db.pool.validationTimeoutSeconds", 2));
+    }
+
+    // Replicas share the primary's credentials and pool settings.
+    private static ReplicaRouter createReplicaRouter(Properties props) {
+        List<String> urls = new ArrayList<>();
+        String configured = props.getProperty("db.replica.urls", "");
+        for (String url : configured.split(",")) {
+            if (!url.isBlank()) {
+                urls.add(url.trim());
+            }
+        }
+        if (urls.isEmpty()) {
+            return null;
+        }
+        return new ReplicaRouter(urls, connectionProperties(props), url -> createPool(props, url),
+                intProperty(props, "db.replica.maxLagMs", 5000),
+                intProperty(props, "db.replica.healthCheckIntervalMs", 1000));
+    }
+
+    private static Properties connectionProperties(Properties props) {
+        Properties connectionProps = new Properties();
+        connectionProps.setProperty("user", props.getProperty("db.username"));
+        connectionProps.setProperty("password", props.getProperty("db.password"));
+        // Driver statement-cache settings: a statement is server-prepared once the same SQL
+        // text has run prepareThreshold times on a connection.
+        copyProperty(props, "db.prepareThreshold", connectionProps, "prepareThreshold");
+        copyProperty(props, "db.preparedStatementCacheQueries", connectionProps, "preparedStatementCacheQueries");
+        return connectionProps;
+    }
+
+    private static void copyProperty(Properties from, String key, Properties to, String driverKey) {
+        String value = from.getProperty(key);
+        if (value != null && !value.isBlank()) {
+            to.setProperty(driverKey, value.trim());
+        }
+    }
+
+    private static int intProperty(Properties props, String key, int defaultValue) {
+        String value = props.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value.trim());
+    }
+}
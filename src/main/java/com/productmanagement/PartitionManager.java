@@ -0,0 +1,250 @@
+package com.productmanagement;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Maintains the monthly partitions of product (schema V6): creates upcoming months before rows
+// arrive, so they never land in product_default, and detaches months past the retention window.
+public class PartitionManager implements AutoCloseable {
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("product_p(\\d{4})(\\d{2})");
+    private static final String DETACH_LOCK_TIMEOUT = "5s";
+
+    private final DBConnection dbConnection;
+    private ScheduledExecutorService scheduler;
+
+    public PartitionManager() {
+        this(new DBConnection());
+    }
+
+    public PartitionManager(DBConnection dbConnection) {
+        this.dbConnection = dbConnection;
+    }
+
+    // Creates any missing partitions from the given month through monthsAhead months later;
+    // returns the names of the partitions created.
+    public List<String> createPartitions(YearMonth from, int monthsAhead) throws SQLException {
+        if (monthsAhead < 0) {
+            throw new IllegalArgumentException("Months ahead must not be negative: " + monthsAhead);
+        }
+        List<String> created = new ArrayList<>();
+        try (Connection conn = dbConnection.getDBConnection();
+             PreparedStatement pstmt = conn.prepareStatement("SELECT product_create_partition(?::date)")) {
+            for (int i = 0; i <= monthsAhead; i++) {
+                pstmt.setString(1, from.plusMonths(i).atDay(1).toString());
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    rs.next();
+                    String name = rs.getString(1);
+                    if (name != null) {
+                        created.add(name);
+                    }
+                }
+            }
+        }
+        return created;
+    }
+
+    // Monthly partitions currently attached to product, oldest first.
+    public List<YearMonth> listPartitions() throws SQLException {
+        List<YearMonth> months = new ArrayList<>();
+        try (Connection conn = dbConnection.getDBConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT c.relname FROM pg_inherits i " +
+                     "JOIN pg_class c ON c.oid = i.inhrelid " +
+                     "WHERE i.inhparent = 'product'::regclass ORDER BY c.relname")) {
+            while (rs.next()) {
+                Matcher matcher = MONTHLY_PARTITION.matcher(rs.getString(1));
+                if (matcher.matches()) {
+                    months.add(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+                }
+            }
+        }
+        return months;
+    }
+
+    // Detaches one month. Its products stay in the detached table and their category rows move
+    // to product_category_archive, so both can be re-attached; the read model rows are dropped.
+    // The copying happens outside the detach, which holds ACCESS EXCLUSIVE on product and so
+    // blocks every catalog read: categories are archived first, the detach runs on its own, and
+    // categories added in between are archived with the cleanup. DETACH ... CONCURRENTLY is not
+    // available while product has a default partition, so the detach is short rather than
+    // concurrent. Returns false when the month has no attached partition.
+    public boolean detachPartition(YearMonth month) throws SQLException {
+        String table = partitionName(month);
+        String archive = "INSERT INTO product_category_archive " +
+                "SELECT pc.* FROM product_category pc WHERE pc.product_id IN (SELECT id FROM " + table + ") " +
+                "AND NOT EXISTS (SELECT 1 FROM product_category_archive a WHERE a.id = pc.id)";
+        try (Connection conn = dbConnection.getDBConnection()) {
+            if (!isAttached(conn, table)) {
+                return false;
+            }
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate(archive);
+
+                conn.setAutoCommit(false);
+                try {
+                    // Fail rather than queue every reader behind a detach waiting on a long query.
+                    stmt.execute("SET LOCAL lock_timeout = '" + DETACH_LOCK_TIMEOUT + "'");
+                    if (!isAttached(conn, table)) {
+                        conn.rollback();
+                        return false;
+                    }
+                    stmt.execute("ALTER TABLE product DETACH PARTITION " + table);
+                    conn.commit();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                }
+
+                try {
+                    stmt.executeUpdate(archive);
+                    stmt.executeUpdate("DELETE FROM product_category WHERE product_id IN (SELECT id FROM " + table + ")");
+                    stmt.executeUpdate("DELETE FROM product_read_model WHERE id IN (SELECT id FROM " + table + ")");
+                    conn.commit();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                }
+                return true;
+            }
+        }
+    }
+
+    // Moves dated rows that landed in product_default (dated before the first monthly partition
+    // or after the last, e.g. generated or backdated data) into monthly partitions created for
+    // them; until then date filters always scan the default partition, and creating those
+    // months fails because the default already holds their rows. The default partition is
+    // detached while rows move, which locks product for the duration. Returns the months moved.
+    public List<YearMonth> splitDefaultPartition() throws SQLException {
+        List<YearMonth> months = new ArrayList<>();
+        try (Connection conn = dbConnection.getDBConnection()) {
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                try (ResultSet rs = stmt.executeQuery("SELECT DISTINCT to_char(creation_datetime, 'YYYY-MM') " +
+                        "FROM product_default WHERE creation_datetime IS NOT NULL ORDER BY 1")) {
+                    while (rs.next()) {
+                        months.add(YearMonth.parse(rs.getString(1)));
+                    }
+                }
+                if (months.isEmpty()) {
+                    conn.rollback();
+                    return months;
+                }
+                stmt.execute("ALTER TABLE product DETACH PARTITION product_default");
+                try (PreparedStatement create = conn.prepareStatement("SELECT product_create_partition(?::date)")) {
+                    for (YearMonth month : months) {
+                        create.setString(1, month.atDay(1).toString());
+                        create.execute();
+                        if (!isAttached(conn, partitionName(month))) {
+                            throw new SQLException(partitionName(month) + " exists but is detached; " +
+                                    "re-attach or drop it before splitting product_default");
+                        }
+                        String range = "creation_datetime >= '" + month.atDay(1) + "' " +
+                                "AND creation_datetime < '" + month.plusMonths(1).atDay(1) + "'";
+                        stmt.executeUpdate("INSERT INTO " + partitionName(month) + " (id, name, price, creation_datetime) " +
+                                "SELECT id, name, price, creation_datetime FROM product_default WHERE " + range);
+                        stmt.executeUpdate("DELETE FROM product_default WHERE " + range);
+                    }
+                }
+                stmt.execute("ALTER TABLE product ATTACH PARTITION product_default DEFAULT");
+                conn.commit();
+                return months;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    // Detaches every monthly partition older than the cutoff month; returns the months detached.
+    public List<YearMonth> detachPartitionsBefore(YearMonth cutoff) throws SQLException {
+        List<YearMonth> detached = new ArrayList<>();
+        for (YearMonth month : listPartitions()) {
+            if (month.isBefore(cutoff) && detachPartition(month)) {
+                detached.add(month);
+            }
+        }
+        return detached;
+    }
+
+    // One maintenance pass: move default-partition rows into their months, create partitions
+    // through monthsAhead, then detach months older than retentionMonths (zero keeps everything).
+    public void runMaintenance(int monthsAhead, int retentionMonths) throws SQLException {
+        for (YearMonth month : splitDefaultPartition()) {
+            System.out.println("Moved " + partitionName(month) + " out of product_default");
+        }
+        YearMonth current = YearMonth.now();
+        for (String name : createPartitions(current, monthsAhead)) {
+            System.out.println("Created partition " + name);
+        }
+        if (retentionMonths > 0) {
+            for (YearMonth month : detachPartitionsBefore(current.minusMonths(retentionMonths))) {
+                System.out.println("Detached partition " + partitionName(month));
+            }
+        }
+    }
+
+    public void scheduleMaintenance() {
+        int monthsAhead = dbConnection.getIntProperty("partitions.monthsAhead", 3);
+        int retentionMonths = dbConnection.getIntProperty("partitions.retentionMonths", 0);
+        long periodMillis = TimeUnit.MINUTES.toMillis(
+                dbConnection.getIntProperty("partitions.maintenanceIntervalMinutes", 1440));
+        synchronized (this) {
+            if (scheduler != null) {
+                return;
+            }
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "product-partition-maintenance");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(() -> {
+                try {
+                    runMaintenance(monthsAhead, retentionMonths);
+                } catch (SQLException e) {
+                    System.err.println("Error maintaining product partitions: " + e.getMessage());
+                }
+            }, 0, periodMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    static String partitionName(YearMonth month) {
+        return String.format("product_p%04d%02d", month.getYear(), month.getMonthValue());
+    }
+
+    private boolean isAttached(Connection conn, String table) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT 1 FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = 'product'::regclass AND c.relname = ?")) {
+            pstmt.setString(1, table);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    // Single maintenance pass for cron-style scheduling
+    public static void main(String[] args) throws SQLException {
+        DBConnection config = new DBConnection();
+        new PartitionManager(config).runMaintenance(config.getIntProperty("partitions.monthsAhead", 3),
+                config.getIntProperty("partitions.retentionMonths", 0));
+    }
+}
@@ -0,0 +1,85 @@
+package com.productmanagement;
+
+public class PoolStats {
+    private final int totalConnections;
+    private final int activeConnections;
+    private final int idleConnections;
+    private final int waitingThreads;
+    private final long acquireCount;
+    private final long timeoutCount;
+    private final long createdCount;
+    private final long destroyedCount;
+    private final long totalWaitNanos;
+    private final long maxWaitNanos;
+
+    public PoolStats(int totalConnections, int activeConnections, int idleConnections, int waitingThreads,
+                     long acquireCount, long timeoutCount, long createdCount, long destroyedCount,
+                     long totalWaitNanos, long maxWaitNanos) {
+        this.totalConnections = totalConnections;
+        this.activeConnections = activeConnections;
+        this.idleConnections = idleConnections;
+        this.waitingThreads = waitingThreads;
+        this.acquireCount = acquireCount;
+        this.timeoutCount = timeoutCount;
+        this.createdCount = createdCount;
+        this.destroyedCount = destroyedCount;
+        this.totalWaitNanos = totalWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+    }
+
+    public int getTotalConnections() {
+        return totalConnections;
+    }
+
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    public int getWaitingThreads() {
+        return waitingThreads;
+    }
+
+    public long getAcquireCount() {
+        return acquireCount;
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount;
+    }
+
+    public long getCreatedCount() {
+        return createdCount;
+    }
+
+    public long getDestroyedCount() {
+        return destroyedCount;
+    }
+
+    public long getTotalWaitNanos() {
+        return totalWaitNanos;
+    }
+
+    public long getMaxWaitNanos() {
+        return maxWaitNanos;
+    }
+
+    public double getAverageWaitMillis() {
+        return acquireCount == 0 ? 0.0 : totalWaitNanos / 1_000_000.0 / acquireCount;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolStats{total=" + totalConnections +
+                ", active=" + activeConnections +
+                ", idle=" + idleConnections +
+                ", waiters=" + waitingThreads +
+                ", acquired=" + acquireCount +
+                ", timeouts=" + timeoutCount +
+                ", avgWaitMs=" + String.format("%.3f", getAverageWaitMillis()) +
+                ", maxWaitMs=" + String.format("%.3f", maxWaitNanos / 1_000_000.0) + "}";
+    }
+}
@@ -0,0 +1,161 @@
+package com.productmanagement;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// Round-robins read-only connections over replica pools. A background check marks each replica
+// healthy or not and measures its replay lag; replicas that are down or lag more than
+// maxLagMillis are skipped, and when none is eligible the caller falls back to the primary.
+class ReplicaRouter implements AutoCloseable {
+    // Zero when the server is not a standby, or when it is streaming from the primary and has
+    // replayed everything it received; a standby cut off from the primary also has receive ==
+    // replay, so otherwise the lag is the age of the last replayed transaction. NULL when nothing
+    // has been replayed yet, which counts as too stale. pg_stat_wal_receiver only shows the
+    // status to roles with pg_read_all_stats; without it idle standbys are judged by replay age.
+    private static final String LAG_QUERY = "SELECT CASE " +
+            "WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() " +
+            "AND EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN 0 " +
+            "ELSE (EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000)::bigint END";
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Properties checkProperties;
+    private final long maxLagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder primaryFallbacks = new LongAdder();
+    private final ScheduledExecutorService healthChecker;
+
+    ReplicaRouter(List<String> urls, Properties connectionProperties, Function<String, ConnectionPool> poolFactory,
+                  long maxLagMillis, long healthCheckIntervalMillis) {
+        for (String url : urls) {
+            replicas.add(new Replica(url, poolFactory.apply(url)));
+        }
+        this.checkProperties = new Properties();
+        this.checkProperties.putAll(connectionProperties);
+        this.checkProperties.setProperty("connectTimeout", "2");
+        this.checkProperties.setProperty("socketTimeout", "5");
+        this.maxLagMillis = maxLagMillis;
+
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (healthCheckIntervalMillis > 0) {
+            healthChecker.scheduleWithFixedDelay(this::checkHealth, 0, healthCheckIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // A connection from the next eligible replica, or null when the primary should serve the read.
+    Connection getConnection() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.isEligible(maxLagMillis)) {
+                continue;
+            }
+            try {
+                Connection conn = replica.pool.getConnection();
+                replica.routed.increment();
+                return conn;
+            } catch (SQLException e) {
+                replica.healthy = false;
+                System.err.println("Error connecting to replica " + replica.url + ": " + e.getMessage());
+            }
+        }
+        primaryFallbacks.increment();
+        return null;
+    }
+
+    List<ReplicaStatus> getStatus() {
+        List<ReplicaStatus> status = new ArrayList<>();
+        for (Replica replica : replicas) {
+            status.add(new ReplicaStatus(replica.url, replica.healthy, replica.lagMillis,
+                    replica.isEligible(maxLagMillis), replica.routed.sum()));
+        }
+        return status;
+    }
+
+    long getPrimaryFallbackCount() {
+        return primaryFallbacks.sum();
+    }
+
+    // One health-check pass over all replicas; also run on the scheduler.
+    synchronized void checkHealth() {
+        for (Replica replica : replicas) {
+            try {
+                if (replica.checkConnection == null || !replica.checkConnection.isValid(2)) {
+                    replica.closeCheckConnection();
+                    replica.checkConnection = DriverManager.getConnection(replica.url, checkProperties);
+                }
+                try (Statement stmt = replica.checkConnection.createStatement();
+                     ResultSet rs = stmt.executeQuery(LAG_QUERY)) {
+                    rs.next();
+                    long lag = rs.getLong(1);
+                    replica.lagMillis = rs.wasNull() ? Long.MAX_VALUE : Math.max(0, lag);
+                }
+                replica.healthy = true;
+            } catch (SQLException e) {
+                if (replica.healthy) {
+                    System.err.println("Replica " + replica.url + " failed its health check: " + e.getMessage());
+                }
+                replica.healthy = false;
+                replica.closeCheckConnection();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        healthChecker.shutdownNow();
+        for (Replica replica : replicas) {
+            replica.pool.close();
+            replica.closeCheckConnection();
+        }
+    }
+
+    private static final class Replica {
+        private final String url;
+        private final ConnectionPool pool;
+        private final LongAdder routed = new LongAdder();
+        // Only touched by the health-check pass
+        private Connection checkConnection;
+        private volatile boolean healthy;
+        private volatile long lagMillis = Long.MAX_VALUE;
+
+        private Replica(String url, ConnectionPool pool) {
+            this.url = url;
+            this.pool = pool;
+        }
+
+        private boolean isEligible(long maxLagMillis) {
+            return healthy && lagMillis <= maxLagMillis;
+        }
+
+        private void closeCheckConnection() {
+            if (checkConnection == null) {
+                return;
+            }
+            try {
+                checkConnection.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing replica health-check connection: " + e.getMessage());
+            }
+            checkConnection = null;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.productmanagement;
+
+public class ReplicaStatus {
+    private final String url;
+    private final boolean healthy;
+    private final long lagMillis;
+    private final boolean eligible;
+    private final long routedConnections;
+
+    public ReplicaStatus(String url, boolean healthy, long lagMillis, boolean eligible, long routedConnections) {
+        this.url = url;
+        this.healthy = healthy;
+        this.lagMillis = lagMillis;
+        this.eligible = eligible;
+        this.routedConnections = routedConnections;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    // Replay lag from the last health check; Long.MAX_VALUE when unknown.
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    // Healthy and within the configured staleness tolerance.
+    public boolean isEligible() {
+        return eligible;
+    }
+
+    public long getRoutedConnections() {
+        return routedConnections;
+    }
+
+    @Override
+    public String toString() {
+        return "ReplicaStatus{url=" + url +
+                ", healthy=" + healthy +
+                ", lagMs=" + (lagMillis == Long.MAX_VALUE ? "unknown" : String.valueOf(lagMillis)) +
+                ", eligible=" + eligible +
+                ", routed=" + routedConnections + "}";
+    }
+}
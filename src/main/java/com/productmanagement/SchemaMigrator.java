@@ -0,0 +1,107 @@
+package com.productmanagement;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public class SchemaMigrator {
+    private static final long MIGRATION_LOCK_ID = 7_300_421L;
+
+    // version, description, classpath script; append new entries, never edit applied ones
+    private static final String[][] MIGRATIONS = {
+            {"1", "base schema", "sql/schema.sql"},
+            {"2", "search indexes", "sql/migrations/V2__search_indexes.sql"},
+            {"3", "product read model", "sql/migrations/V3__product_read_model.sql"},
+            {"4", "read model category arrays", "sql/migrations/V4__read_model_category_arrays.sql"},
+            {"5", "catalog change notifications", "sql/migrations/V5__catalog_change_notify.sql"},
+            {"6", "partition product by month", "sql/migrations/V6__partition_product.sql"},
+            {"7", "read model refresh lock", "sql/migrations/V7__read_model_refresh_lock.sql"},
+            {"8", "partitioned product integrity", "sql/migrations/V8__partitioned_product_integrity.sql"},
+            {"9", "statement-level change notifications", "sql/migrations/V9__statement_level_change_notify.sql"},
+            {"10", "undated products", "sql/migrations/V10__undated_products.sql"},
+    };
+
+    private final DBConnection dbConnection;
+
+    public SchemaMigrator() {
+        this.dbConnection = new DBConnection();
+    }
+
+    public int migrate() throws SQLException {
+        int applied = 0;
+        try (Connection conn = dbConnection.getDBConnection()) {
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("SELECT pg_advisory_xact_lock(" + MIGRATION_LOCK_ID + ")");
+                stmt.execute("CREATE TABLE IF NOT EXISTS schema_version (" +
+                        "version int PRIMARY KEY, " +
+                        "description varchar(255) NOT NULL, " +
+                        "applied_at timestamp DEFAULT current_timestamp)");
+
+                int current = currentVersion(conn);
+                for (String[] migration : MIGRATIONS) {
+                    int version = Integer.parseInt(migration[0]);
+                    if (version <= current) {
+                        continue;
+                    }
+                    stmt.execute(readScript(migration[2]));
+                    try (PreparedStatement record = conn.prepareStatement(
+                            "INSERT INTO schema_version (version, description) VALUES (?, ?)")) {
+                        record.setInt(1, version);
+                        record.setString(2, migration[1]);
+                        record.executeUpdate();
+                    }
+                    System.out.println("Applied schema migration V" + version + ": " + migration[1]);
+                    applied++;
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+        return applied;
+    }
+
+    public int getCurrentVersion() throws SQLException {
+        try (Connection conn = dbConnection.getDBConnection()) {
+            return currentVersion(conn);
+        }
+    }
+
+    private int currentVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                     "SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+            rs.next();
+            return rs.getInt(1);
+        } catch (SQLException e) {
+            if ("42P01".equals(e.getSQLState())) {
+                return 0;
+            }
+            throw e;
+        }
+    }
+
+    private String readScript(String path) throws SQLException {
+        try (InputStream input = SchemaMigrator.class.getClassLoader().getResourceAsStream(path)) {
+            if (input == null) {
+                throw new SQLException("Migration script not found: " + path);
+            }
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new SQLException("Failed to read migration script " + path, e);
+        }
+    }
+
+    public static void main(String[] args) throws SQLException {
+        SchemaMigrator migrator = new SchemaMigrator();
+        int applied = migrator.migrate();
+        System.out.println("Applied " + applied + " migration(s), schema is at V" + migrator.getCurrentVersion());
+    }
+}
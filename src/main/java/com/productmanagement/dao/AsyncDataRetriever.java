@@ -0,0 +1,85 @@
+package com.productmanagement.dao;
+
+import com.productmanagement.DBConnection;
+import com.productmanagement.model.Category;
+import com.productmanagement.model.Product;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+public class AsyncDataRetriever implements AutoCloseable {
+    private final DataRetriever dataRetriever;
+    private final ExecutorService executor;
+    private final Semaphore queryPermits;
+
+    public AsyncDataRetriever() throws SQLException {
+        this(new DataRetriever(), new DBConnection().getMaxPoolSize());
+    }
+
+    // Callers park on the permits rather than in the pool, so in-flight requests beyond the
+    // connection supply cost a parked virtual thread, not a pool timeout.
+    public AsyncDataRetriever(DataRetriever dataRetriever, int maxConcurrentQueries) {
+        if (maxConcurrentQueries <= 0) {
+            throw new IllegalArgumentException("Concurrency limit must be positive: " + maxConcurrentQueries);
+        }
+        this.dataRetriever = dataRetriever;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.queryPermits = new Semaphore(maxConcurrentQueries, true);
+    }
+
+    public CompletableFuture<List<Category>> getAllCategories() {
+        return submit(dataRetriever::getAllCategories);
+    }
+
+    public CompletableFuture<List<Product>> getProductList(int page, int size) {
+        return submit(() -> dataRetriever.getProductList(page, size));
+    }
+
+    public CompletableFuture<List<Product>> getProductsByCriteria(String productName, String categoryName,
+                                                                  Instant creationMin, Instant creationMax) {
+        return submit(() -> dataRetriever.getProductsByCriteria(productName, categoryName,
+                creationMin, creationMax));
+    }
+
+    public CompletableFuture<List<Product>> getProductsByCriteria(String productName, String categoryName,
+                                                                  Instant creationMin, Instant creationMax,
+                                                                  int page, int size) {
+        return submit(() -> dataRetriever.getProductsByCriteria(productName, categoryName,
+                creationMin, creationMax, page, size));
+    }
+
+    public int getAvailablePermits() {
+        return queryPermits.availablePermits();
+    }
+
+    public int getQueuedRequests() {
+        return queryPermits.getQueueLength();
+    }
+
+    <T> CompletableFuture<T> submit(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                queryPermits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+            try {
+                return query.get();
+            } finally {
+                queryPermits.release();
+            }
+        }, executor);
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
@@ -0,0 +1,64 @@
+package com.productmanagement.dao;
+
+public class CacheStats {
+    private final long hitCount;
+    private final long missCount;
+    private final long loadCount;
+    private final long evictionCount;
+    private final long totalLoadNanos;
+    private final int size;
+
+    public CacheStats(long hitCount, long missCount, long loadCount, long evictionCount,
+                      long totalLoadNanos, int size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadCount = loadCount;
+        this.evictionCount = evictionCount;
+        this.totalLoadNanos = totalLoadNanos;
+        this.size = size;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getLoadCount() {
+        return loadCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public long getTotalLoadNanos() {
+        return totalLoadNanos;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0.0 : (double) hitCount / requests;
+    }
+
+    public double getAverageLoadMillis() {
+        return loadCount == 0 ? 0.0 : totalLoadNanos / 1_000_000.0 / loadCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{hits=" + hitCount +
+                ", misses=" + missCount +
+                ", hitRate=" + String.format("%.3f", getHitRate()) +
+                ", loads=" + loadCount +
+                ", avgLoadMs=" + String.format("%.3f", getAverageLoadMillis()) +
+                ", evictions=" + evictionCount +
+                ", size=" + size + "}";
+    }
+}
@@ -0,0 +1,115 @@
+package com.productmanagement.dao;
+
+import com.productmanagement.DBConnection;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+public class CatalogBulkLoader {
+
+    public enum Format {
+        CSV("(FORMAT csv, HEADER)"),
+        BINARY("(FORMAT binary)");
+
+        private final String options;
+
+        Format(String options) {
+            this.options = options;
+        }
+    }
+
+    private final DBConnection dbConnection;
+
+    public CatalogBulkLoader() {
+        this.dbConnection = new DBConnection();
+    }
+
+    // Products are (source_id, name, price, creation_datetime), categories are (source_id, name,
+    // source_product_id). Products get fresh ids and categories are re-pointed at them.
+    public CopyResult importCatalog(InputStream products, InputStream categories, Format format)
+            throws SQLException, IOException {
+        long start = System.nanoTime();
+
+        try (Connection conn = dbConnection.getDBConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                CopyManager copyManager = conn.unwrap(PGConnection.class).getCopyAPI();
+                String sequence = productIdSequence(conn);
+
+                long productRows;
+                long categoryRows = 0;
+                long skipped = 0;
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("CREATE TEMP TABLE product_stage (" +
+                            "source_id int, name varchar(255), price numeric(10,2), " +
+                            "creation_datetime timestamp, " +
+                            "new_id int DEFAULT nextval('" + sequence.replace("'", "''") + "')" +
+                            ") ON COMMIT DROP");
+                    productRows = copyManager.copyIn("COPY product_stage (source_id, name, price, creation_datetime) " +
+                            "FROM STDIN WITH " + format.options, products);
+                    stmt.executeUpdate("INSERT INTO product (id, name, price, creation_datetime) " +
+                            "SELECT new_id, name, price, COALESCE(creation_datetime, current_timestamp) FROM product_stage");
+
+                    if (categories != null) {
+                        stmt.execute("CREATE TEMP TABLE category_stage (" +
+                                "source_id int, name varchar(255), source_product_id int" +
+                                ") ON COMMIT DROP");
+                        long staged = copyManager.copyIn("COPY category_stage (source_id, name, source_product_id) " +
+                                "FROM STDIN WITH " + format.options, categories);
+                        stmt.execute("ANALYZE product_stage");
+                        categoryRows = stmt.executeUpdate("INSERT INTO product_category (name, product_id) " +
+                                "SELECT c.name, s.new_id FROM category_stage c " +
+                                "JOIN product_stage s ON s.source_id = c.source_product_id " +
+                                "ORDER BY c.source_id");
+                        skipped = staged - categoryRows;
+                    }
+                }
+
+                conn.commit();
+                return new CopyResult(productRows, categoryRows, skipped, System.nanoTime() - start);
+            } catch (SQLException | IOException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                CategoryCache.shared().invalidateAll();
+                ProductQueryCache.shared().invalidateAll();
+            }
+        }
+    }
+
+    public CopyResult exportProducts(OutputStream out, Format format) throws SQLException, IOException {
+        long start = System.nanoTime();
+        long rows = copyOut("COPY (SELECT id, name, price, creation_datetime FROM product ORDER BY id) " +
+                "TO STDOUT WITH " + format.options, out);
+        return new CopyResult(rows, 0, 0, System.nanoTime() - start);
+    }
+
+    public CopyResult exportCategories(OutputStream out, Format format) throws SQLException, IOException {
+        long start = System.nanoTime();
+        long rows = copyOut("COPY (SELECT id, name, product_id FROM product_category ORDER BY id) " +
+                "TO STDOUT WITH " + format.options, out);
+        return new CopyResult(0, rows, 0, System.nanoTime() - start);
+    }
+
+    private long copyOut(String sql, OutputStream out) throws SQLException, IOException {
+        try (Connection conn = dbConnection.getDBConnection()) {
+            return conn.unwrap(PGConnection.class).getCopyAPI().copyOut(sql, out);
+        }
+    }
+
+    private String productIdSequence(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT pg_get_serial_sequence('product', 'id')")) {
+            if (!rs.next() || rs.getString(1) == null) {
+                throw new SQLException("No sequence found for product.id");
+            }
+            return rs.getString(1);
+        }
+    }
+}
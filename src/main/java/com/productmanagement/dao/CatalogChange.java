@@ -0,0 +1,74 @@
+package com.productmanagement.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CatalogChange {
+    public enum Operation { INSERT, UPDATE, DELETE, RESYNC }
+
+    private static final CatalogChange RESYNC = new CatalogChange(null, Operation.RESYNC, 0);
+    private static final String RESYNC_PAYLOAD = "resync";
+
+    private final String table;
+    private final Operation operation;
+    private final int productId;
+
+    public CatalogChange(String table, Operation operation, int productId) {
+        this.table = table;
+        this.operation = operation;
+        this.productId = productId;
+    }
+
+    // Sent whenever the listener starts listening, since notifications may have been missed
+    // before it did, and for statements that changed too many products to list; subscribers
+    // should treat everything as changed.
+    public static CatalogChange resync() {
+        return RESYNC;
+    }
+
+    // Parses a payload written by notify_catalog_changes(): "<table>:<I|U|D>:<id>[,<id>...]",
+    // one change per product id, or "resync".
+    static List<CatalogChange> parse(String payload) {
+        if (RESYNC_PAYLOAD.equals(payload)) {
+            return List.of(RESYNC);
+        }
+        String[] parts = payload.split(":");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed catalog change: " + payload);
+        }
+        Operation operation = switch (parts[1]) {
+            case "I" -> Operation.INSERT;
+            case "U" -> Operation.UPDATE;
+            case "D" -> Operation.DELETE;
+            default -> throw new IllegalArgumentException("Unknown catalog operation: " + payload);
+        };
+        String[] ids = parts[2].split(",");
+        List<CatalogChange> changes = new ArrayList<>(ids.length);
+        for (String id : ids) {
+            changes.add(new CatalogChange(parts[0], operation, Integer.parseInt(id)));
+        }
+        return changes;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public int getProductId() {
+        return productId;
+    }
+
+    public boolean isResync() {
+        return operation == Operation.RESYNC;
+    }
+
+    @Override
+    public String toString() {
+        return isResync() ? "CatalogChange{RESYNC}"
+                : "CatalogChange{" + table + " " + operation + " product=" + productId + "}";
+    }
+}
@@ -0,0 +1,183 @@
+package com.productmanagement.dao;
+
+import com.productmanagement.DBConnection;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+// Listens on catalog_changes over a dedicated connection and hands the per-product events to
+// the subscribers in batches: after the first notification it keeps collecting for
+// batchWindowMillis (or until maxBatchSize), so a burst of writes costs one dispatch.
+// getNotifications blocks on the socket, so there is no polling query.
+public class CatalogChangeListener implements AutoCloseable {
+    static final String CHANNEL = "catalog_changes";
+    private static final int IDLE_WAIT_MILLIS = 500;
+    private static volatile CatalogChangeListener shared;
+
+    private final DBConnection dbConnection;
+    private final long batchWindowMillis;
+    private final int maxBatchSize;
+    private final long reconnectDelayMillis;
+    private final List<CatalogChangeSubscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final LongAdder notifications = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private volatile boolean running;
+    private volatile boolean listening;
+    private Thread thread;
+
+    public CatalogChangeListener(long batchWindowMillis, int maxBatchSize, long reconnectDelayMillis) {
+        if (batchWindowMillis < 0 || maxBatchSize <= 0 || reconnectDelayMillis <= 0) {
+            throw new IllegalArgumentException("Invalid listener settings: window=" + batchWindowMillis +
+                    ", maxBatch=" + maxBatchSize + ", reconnectDelay=" + reconnectDelayMillis);
+        }
+        this.dbConnection = new DBConnection();
+        this.batchWindowMillis = batchWindowMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.reconnectDelayMillis = reconnectDelayMillis;
+    }
+
+    public static CatalogChangeListener shared() {
+        CatalogChangeListener current = shared;
+        if (current != null) {
+            return current;
+        }
+        synchronized (CatalogChangeListener.class) {
+            if (shared == null) {
+                DBConnection config = new DBConnection();
+                CatalogChangeListener listener = new CatalogChangeListener(
+                        config.getIntProperty("changefeed.batchWindowMs", 20),
+                        config.getIntProperty("changefeed.maxBatchSize", 1000),
+                        config.getIntProperty("changefeed.reconnectDelayMs", 1000));
+                listener.start();
+                shared = listener;
+            }
+            return shared;
+        }
+    }
+
+    // Subscribes to the shared listener when changefeed.enabled is set; used by the shared
+    // caches and indexes so they invalidate on change instead of waiting for their TTL.
+    static void subscribeShared(CatalogChangeSubscriber subscriber) {
+        if (new DBConnection().getBooleanProperty("changefeed.enabled", false)) {
+            shared().subscribe(subscriber);
+        }
+    }
+
+    public void subscribe(CatalogChangeSubscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    public void unsubscribe(CatalogChangeSubscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "catalog-change-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public boolean isListening() {
+        return listening;
+    }
+
+    public long getNotificationCount() {
+        return notifications.sum();
+    }
+
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try (Connection conn = dbConnection.openDedicatedConnection()) {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("LISTEN " + CHANNEL);
+                }
+                // Changes committed before LISTEN took effect were never delivered, on the first
+                // connection as much as after a reconnect.
+                dispatch(List.of(CatalogChange.resync()));
+                listening = true;
+
+                PGConnection pgConnection = conn.unwrap(PGConnection.class);
+                while (running) {
+                    List<CatalogChange> batch = new ArrayList<>();
+                    collect(pgConnection.getNotifications(IDLE_WAIT_MILLIS), batch);
+                    if (batch.isEmpty()) {
+                        continue;
+                    }
+                    long deadline = System.currentTimeMillis() + batchWindowMillis;
+                    while (batch.size() < maxBatchSize) {
+                        long remaining = deadline - System.currentTimeMillis();
+                        if (remaining <= 0 || !collect(pgConnection.getNotifications((int) remaining), batch)) {
+                            break;
+                        }
+                    }
+                    dispatch(batch);
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    System.err.println("Catalog change listener disconnected: " + e.getMessage());
+                }
+            } finally {
+                listening = false;
+            }
+
+            if (running) {
+                try {
+                    Thread.sleep(reconnectDelayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean collect(PGNotification[] received, List<CatalogChange> batch) {
+        if (received == null || received.length == 0) {
+            return false;
+        }
+        for (PGNotification notification : received) {
+            notifications.increment();
+            try {
+                batch.addAll(CatalogChange.parse(notification.getParameter()));
+            } catch (IllegalArgumentException e) {
+                System.err.println("Ignoring catalog change: " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    private void dispatch(List<CatalogChange> batch) {
+        batches.increment();
+        List<CatalogChange> changes = List.copyOf(batch);
+        for (CatalogChangeSubscriber subscriber : subscribers) {
+            try {
+                subscriber.onChanges(changes);
+            } catch (RuntimeException e) {
+                System.err.println("Catalog change subscriber failed: " + e.getMessage());
+            }
+        }
+    }
+}
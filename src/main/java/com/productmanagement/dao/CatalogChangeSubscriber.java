@@ -0,0 +1,8 @@
+package com.productmanagement.dao;
+
+import java.util.List;
+
+@FunctionalInterface
+public interface CatalogChangeSubscriber {
+    void onChanges(List<CatalogChange> changes);
+}
@@ -0,0 +1,57 @@
+package com.productmanagement.dao;
+
+import com.productmanagement.DBConnection;
+import com.productmanagement.model.Category;
+import java.sql.SQLException;
+import java.util.List;
+
+public class CategoryCache {
+    private static volatile CategoryCache shared;
+
+    private final TtlCache<String, List<Category>> cache;
+
+    public CategoryCache(int maxEntries, long ttlMillis) {
+        this.cache = new TtlCache<>(maxEntries, ttlMillis);
+    }
+
+    public static CategoryCache shared() {
+        CategoryCache current = shared;
+        if (current != null) {
+            return current;
+        }
+        synchronized (CategoryCache.class) {
+            if (shared == null) {
+                DBConnection config = new DBConnection();
+                CategoryCache cache = new CategoryCache(
+                        config.getIntProperty("cache.categories.maxEntries", 64),
+                        config.getIntProperty("cache.categories.ttlSeconds", 300) * 1000L);
+                CatalogChangeListener.subscribeShared(changes -> {
+                    for (CatalogChange change : changes) {
+                        if (change.isResync() || "product_category".equals(change.getTable())) {
+                            cache.invalidateAll();
+                            return;
+                        }
+                    }
+                });
+                shared = cache;
+            }
+            return shared;
+        }
+    }
+
+    List<Category> get(String key, TtlCache.Loader<List<Category>> loader) throws SQLException {
+        return cache.get(key, () -> List.copyOf(loader.load()));
+    }
+
+    public void invalidate(String key) {
+        cache.invalidate(key);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+}
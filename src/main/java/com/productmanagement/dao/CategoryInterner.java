@@ -0,0 +1,61 @@
+package com.productmanagement.dao;
+
+import com.productmanagement.DBConnection;
+import com.productmanagement.model.Category;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Shares one String per distinct category name, so large result pages and cached queries
+// do not each hold their own copy of the same few names. Category objects themselves are
+// mutable and always created per hand-out; only their names are shared. The map is simply
+// cleared when it reaches its bound.
+final class CategoryInterner {
+    private static volatile CategoryInterner shared;
+
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, String> names = new ConcurrentHashMap<>();
+
+    CategoryInterner(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Interner size must be positive: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    static CategoryInterner shared() {
+        CategoryInterner current = shared;
+        if (current != null) {
+            return current;
+        }
+        synchronized (CategoryInterner.class) {
+            if (shared == null) {
+                shared = new CategoryInterner(
+                        new DBConnection().getIntProperty("interner.categories.maxEntries", 100000));
+            }
+            return shared;
+        }
+    }
+
+    // A new Category, safe for the caller to modify, with its name shared.
+    Category newCategory(int id, String name) {
+        return new Category(id, internName(name));
+    }
+
+    String internName(String name) {
+        if (name == null) {
+            return null;
+        }
+        String existing = names.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        if (names.size() >= maxEntries) {
+            names.clear();
+        }
+        existing = names.putIfAbsent(name, name);
+        return existing != null ? existing : name;
+    }
+
+    int size() {
+        return names.size();
+    }
+}
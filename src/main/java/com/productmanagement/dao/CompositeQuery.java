@@ -0,0 +1,120 @@
+package com.productmanagement.dao;
+
+import com.productmanagement.model.Category;
+import com.productmanagement.model.Product;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+public class CompositeQuery {
+    private final AsyncDataRetriever asyncRetriever;
+    private final DataRetriever dataRetriever;
+    private final Map<String, Supplier<?>> queries = new LinkedHashMap<>();
+
+    public CompositeQuery(AsyncDataRetriever asyncRetriever, DataRetriever dataRetriever) {
+        this.asyncRetriever = asyncRetriever;
+        this.dataRetriever = dataRetriever;
+    }
+
+    public CompositeQuery categories(String name) {
+        return add(name, dataRetriever::getAllCategories);
+    }
+
+    public CompositeQuery productList(String name, int page, int size) {
+        return add(name, () -> dataRetriever.getProductList(page, size));
+    }
+
+    public CompositeQuery productsByCriteria(String name, String productName, String categoryName,
+                                             Instant creationMin, Instant creationMax, int page, int size) {
+        return add(name, () -> dataRetriever.getProductsByCriteria(productName, categoryName,
+                creationMin, creationMax, page, size));
+    }
+
+    public CompositeQuery count(String name, String productName, String categoryName,
+                                Instant creationMin, Instant creationMax) {
+        return add(name, () -> dataRetriever.countProductsByCriteria(productName, categoryName,
+                creationMin, creationMax));
+    }
+
+    // Every query runs on its own pooled connection; the call returns when the slowest finishes.
+    public CompositeResult execute() {
+        long start = System.nanoTime();
+        Map<String, CompletableFuture<Object>> futures = new LinkedHashMap<>();
+        Map<String, Long> elapsed = new LinkedHashMap<>();
+
+        queries.forEach((name, query) -> futures.put(name, asyncRetriever.submit(() -> {
+            long queryStart = System.nanoTime();
+            Object value = query.get();
+            synchronized (elapsed) {
+                elapsed.put(name, System.nanoTime() - queryStart);
+            }
+            return value;
+        })));
+        CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).join();
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        futures.forEach((name, future) -> values.put(name, future.join()));
+        return new CompositeResult(values, elapsed, System.nanoTime() - start);
+    }
+
+    private CompositeQuery add(String name, Supplier<?> query) {
+        if (queries.putIfAbsent(name, query) != null) {
+            throw new IllegalArgumentException("Duplicate query name: " + name);
+        }
+        return this;
+    }
+
+    public static class CompositeResult {
+        private final Map<String, Object> values;
+        private final Map<String, Long> elapsedNanos;
+        private final long totalNanos;
+
+        CompositeResult(Map<String, Object> values, Map<String, Long> elapsedNanos, long totalNanos) {
+            this.values = values;
+            this.elapsedNanos = elapsedNanos;
+            this.totalNanos = totalNanos;
+        }
+
+        @SuppressWarnings("unchecked")
+        public List<Category> getCategories(String name) {
+            return (List<Category>) value(name);
+        }
+
+        @SuppressWarnings("unchecked")
+        public List<Product> getProducts(String name) {
+            return (List<Product>) value(name);
+        }
+
+        public long getCount(String name) {
+            return (Long) value(name);
+        }
+
+        public double getElapsedMillis(String name) {
+            value(name);
+            return elapsedNanos.get(name) / 1_000_000.0;
+        }
+
+        public double getTotalMillis() {
+            return totalNanos / 1_000_000.0;
+        }
+
+        private Object value(String name) {
+            if (!values.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown query name: " + name);
+            }
+            return values.get(name);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("CompositeResult{totalMs=")
+                    .append(String.format("%.3f", getTotalMillis()));
+            elapsedNanos.forEach((name, nanos) ->
+                    sb.append(", ").append(name).append("Ms=").append(String.format("%.3f", nanos / 1_000_000.0)));
+            return sb.append('}').toString();
+        }
+    }
+}
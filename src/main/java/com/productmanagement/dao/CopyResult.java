@@ -0,0 +1,48 @@
+package com.productmanagement.dao;
+
+public class CopyResult {
+    private final long productRows;
+    private final long categoryRows;
+    private final long skippedCategoryRows;
+    private final long elapsedNanos;
+
+    public CopyResult(long productRows, long categoryRows, long skippedCategoryRows, long elapsedNanos) {
+        this.productRows = productRows;
+        this.categoryRows = categoryRows;
+        this.skippedCategoryRows = skippedCategoryRows;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getProductRows() {
+        return productRows;
+    }
+
+    public long getCategoryRows() {
+        return categoryRows;
+    }
+
+    public long getSkippedCategoryRows() {
+        return skippedCategoryRows;
+    }
+
+    public long getTotalRows() {
+        return productRows + categoryRows;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : getTotalRows() * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "CopyResult{products=" + productRows +
+                ", categories=" + categoryRows +
+                ", skippedCategories=" + skippedCategoryRows +
+                ", elapsedMs=" + elapsedNanos / 1_000_000 +
+                ", rowsPerSecond=" + String.format("%.0f", getRowsPerSecond()) + "}";
+    }
+}
@@ -0,0 +1,124 @@
+package com.productmanagement.dao;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import org.postgresql.PGConnection;
+
+// The WHERE-clause part of a criteria query. Which filters are present is captured as a shape
+// bitmask: the SQL text depends on the shape only, so callers can memoize it per shape and
+// bind the values with typed setters in the same order the SQL declares them.
+final class CriteriaFilter {
+    static final int NAME = 1;
+    static final int CATEGORY = 1 << 1;
+    static final int CREATION_MIN = 1 << 2;
+    static final int CREATION_MAX = 1 << 3;
+    static final int CANDIDATES = 1 << 4;
+    static final int SHAPE_BITS = 5;
+
+    private final String namePattern;
+    private final String categoryPattern;
+    private final Timestamp creationMin;
+    private final Timestamp creationMax;
+    private final ProductSearchIndex.Candidates candidates;
+    private final int shape;
+
+    CriteriaFilter(String productName, String categoryName, Instant creationMin, Instant creationMax,
+                   ProductSearchIndex.Candidates candidates) {
+        this.namePattern = pattern(productName);
+        this.categoryPattern = pattern(categoryName);
+        this.creationMin = creationMin != null ? Timestamp.from(creationMin) : null;
+        this.creationMax = creationMax != null ? Timestamp.from(creationMax) : null;
+        this.candidates = candidates;
+        this.shape = (candidates != null ? CANDIDATES : 0) |
+                (namePattern != null ? NAME : 0) |
+                (categoryPattern != null ? CATEGORY : 0) |
+                (creationMin != null ? CREATION_MIN : 0) |
+                (creationMax != null ? CREATION_MAX : 0);
+    }
+
+    int shape() {
+        return shape;
+    }
+
+    // Metrics tag for a shape, e.g. "name+creationMin", or "none" without filters.
+    static String describe(int shape) {
+        StringBuilder description = new StringBuilder();
+        String[] names = {"name", "category", "creationMin", "creationMax", "candidates"};
+        for (int bit = 0; bit < SHAPE_BITS; bit++) {
+            if ((shape & 1 << bit) != 0) {
+                description.append(description.length() > 0 ? "+" : "").append(names[bit]);
+            }
+        }
+        return description.length() > 0 ? description.toString() : "none";
+    }
+
+    // The shape the given criteria produce before any search-index candidates are added.
+    static int shapeOf(String productName, String categoryName, Instant creationMin, Instant creationMax) {
+        return new CriteriaFilter(productName, categoryName, creationMin, creationMax, null).shape;
+    }
+
+    // Appends the predicates for a shape to a query over product (or the read model) aliased p.
+    static void appendSql(StringBuilder sqlBuilder, int shape) {
+        // The index only covers rows up to its high-water marks, so newer products and newer
+        // category rows pass through to the ILIKE predicates below.
+        if ((shape & CANDIDATES) != 0) {
+            sqlBuilder.append(" AND (p.id = ANY(?) OR p.id > ?");
+            if ((shape & CATEGORY) != 0) {
+                sqlBuilder.append(" OR EXISTS (SELECT 1 FROM product_category pc3 ");
+                sqlBuilder.append("WHERE pc3.product_id = p.id AND pc3.id > ?)");
+            }
+            sqlBuilder.append(")");
+        }
+
+        if ((shape & NAME) != 0) {
+            sqlBuilder.append(" AND p.name ILIKE ?");
+        }
+
+        if ((shape & CATEGORY) != 0) {
+            sqlBuilder.append(" AND EXISTS (");
+            sqlBuilder.append("   SELECT 1 FROM product_category pc2 ");
+            sqlBuilder.append("   WHERE pc2.product_id = p.id ");
+            sqlBuilder.append("   AND pc2.name ILIKE ?");
+            sqlBuilder.append(" )");
+        }
+
+        if ((shape & CREATION_MIN) != 0) {
+            sqlBuilder.append(" AND p.creation_datetime >= ?");
+        }
+
+        if ((shape & CREATION_MAX) != 0) {
+            sqlBuilder.append(" AND p.creation_datetime <= ?");
+        }
+    }
+
+    // Binds from the given parameter index and returns the next free one.
+    int bind(PreparedStatement pstmt, int index) throws SQLException {
+        if (candidates != null) {
+            pstmt.setArray(index++, pstmt.getConnection().unwrap(PGConnection.class)
+                    .createArrayOf("int4", candidates.ids));
+            pstmt.setInt(index++, candidates.indexedProductId);
+            if (categoryPattern != null) {
+                pstmt.setInt(index++, candidates.indexedCategoryRowId);
+            }
+        }
+        if (namePattern != null) {
+            pstmt.setString(index++, namePattern);
+        }
+        if (categoryPattern != null) {
+            pstmt.setString(index++, categoryPattern);
+        }
+        if (creationMin != null) {
+            pstmt.setTimestamp(index++, creationMin);
+        }
+        if (creationMax != null) {
+            pstmt.setTimestamp(index++, creationMax);
+        }
+        return index;
+    }
+
+    private static String pattern(String value) {
+        return value != null && !value.trim().isEmpty() ? "%" + value.trim() + "%" : null;
+    }
+}
@@ -1,95 +1,386 @@
 package com.productmanagement.dao;
 
 import com.productmanagement.DBConnection;
+import com.productmanagement.metrics.QueryInstrumentation;
+import com.productmanagement.metrics.QueryTrace;
 import com.productmanagement.model.Category;
 import com.productmanagement.model.Product;
 import java.sql.*;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.postgresql.PGConnection;
+import org.postgresql.PGStatement;
 
 public class DataRetriever {
+    private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
+    // Parallel id/name arrays in category id order; NULL for products without categories
+    private static final String CATEGORY_ARRAYS =
+            "ARRAY_AGG(pc.id ORDER BY pc.id) FILTER (WHERE pc.id IS NOT NULL) as category_ids, " +
+            "ARRAY_AGG(pc.name ORDER BY pc.id) FILTER (WHERE pc.id IS NOT NULL) as category_names ";
+
+    private static final int AFTER_ID = 1;
+    private static final int LIMIT = 1 << 1;
+    private static final int OFFSET = 1 << 2;
+    private static final int UNTIL_ID = 1 << 3;
+    private static final int ROWS_TEMPLATE = 1 << 16;
+    private static final int COUNT_TEMPLATE = 1 << 17;
+    // Row template variant selecting the creation time as epoch microseconds
+    private static final int EPOCH_TEMPLATE = 1 << 18;
+    private static final String CREATION_EPOCH =
+            "(EXTRACT(EPOCH FROM p.creation_datetime::timestamptz) * 1000000)::bigint AS " +
+            ProductRow.CREATION_EPOCH_COLUMN;
+
     private DBConnection dbConnection;
+    private final CategoryCache categoryCache;
+    private final ProductQueryCache productQueryCache;
+    private final boolean useReadModel;
+    private final ProductSnapshot snapshot;
+    private final ProductSearchIndex searchIndex;
+    private final QueryInstrumentation instrumentation;
+    private final ProductByIdCache productByIdCache;
+    private final int lookupChunkSize;
+    private final CategoryInterner categoryInterner = CategoryInterner.shared();
+    private final ConcurrentHashMap<Integer, String> sqlTemplates = new ConcurrentHashMap<>();
+    private final LongAdder templateHits = new LongAdder();
+    private final LongAdder templateMisses = new LongAdder();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder serverPreparedExecutions = new LongAdder();
 
     public DataRetriever() {
-        this.dbConnection = new DBConnection();
+        this(fromProperties(new DBConnection()));
     }
 
-    public List<Category> getAllCategories() {
-        List<Category> categories = new ArrayList<>();
-        String sql = "SELECT * FROM product_category ORDER BY name";
+    private DataRetriever(Builder builder) {
+        this.dbConnection = builder.dbConnection;
+        this.categoryCache = builder.categoryCache;
+        this.productQueryCache = builder.productQueryCache;
+        this.useReadModel = builder.useReadModel;
+        this.snapshot = builder.snapshot;
+        this.searchIndex = builder.searchIndex;
+        this.instrumentation = builder.instrumentation;
+        this.productByIdCache = builder.productByIdCache;
+        this.lookupChunkSize = Math.max(1, dbConnection.getIntProperty("lookup.chunkSize", 1000));
+    }
+
+    // Starts from the shared category cache and instrumentation with every other option off.
+    public static Builder builder(DBConnection dbConnection) {
+        return new Builder(dbConnection);
+    }
+
+    private static Builder fromProperties(DBConnection dbConnection) {
+        return builder(dbConnection)
+                .productQueryCache(dbConnection.getBooleanProperty("cache.products.enabled", false)
+                        ? ProductQueryCache.shared() : null)
+                .useReadModel(dbConnection.getBooleanProperty("readmodel.enabled", false))
+                .snapshot(dbConnection.getBooleanProperty("snapshot.enabled", false)
+                        ? ProductSnapshot.shared() : null)
+                .searchIndex(searchIndexEnabled(dbConnection) ? ProductSearchIndex.shared() : null)
+                .productByIdCache(dbConnection.getBooleanProperty("cache.productsById.enabled", false)
+                        ? ProductByIdCache.shared() : null);
+    }
+
+    public static final class Builder {
+        private final DBConnection dbConnection;
+        private CategoryCache categoryCache = CategoryCache.shared();
+        private ProductQueryCache productQueryCache;
+        private boolean useReadModel;
+        private ProductSnapshot snapshot;
+        private ProductSearchIndex searchIndex;
+        private QueryInstrumentation instrumentation = QueryInstrumentation.shared();
+        private ProductByIdCache productByIdCache;
+
+        private Builder(DBConnection dbConnection) {
+            if (dbConnection == null) {
+                throw new IllegalArgumentException("DBConnection is required");
+            }
+            this.dbConnection = dbConnection;
+        }
+
+        public Builder categoryCache(CategoryCache categoryCache) {
+            if (categoryCache == null) {
+                throw new IllegalArgumentException("CategoryCache is required");
+            }
+            this.categoryCache = categoryCache;
+            return this;
+        }
 
-        try (Connection conn = dbConnection.getDBConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+        // A non-null productQueryCache answers repeated criteria queries from memory.
+        public Builder productQueryCache(ProductQueryCache productQueryCache) {
+            this.productQueryCache = productQueryCache;
+            return this;
+        }
+
+        // useReadModel reads rows from the trigger-maintained product_read_model projection (schema V3)
+        // instead of aggregating product_category on every query
+        public Builder useReadModel(boolean useReadModel) {
+            this.useReadModel = useReadModel;
+            return this;
+        }
+
+        // A non-null snapshot answers getProductList and getProductsByCriteria from memory; the
+        // database is only queried when the snapshot cannot be loaded or a term holds LIKE wildcards.
+        public Builder snapshot(ProductSnapshot snapshot) {
+            this.snapshot = snapshot;
+            return this;
+        }
+
+        // A non-null searchIndex narrows name and category filters to candidate ids before the
+        // database applies the date range and paging.
+        public Builder searchIndex(ProductSearchIndex searchIndex) {
+            this.searchIndex = searchIndex;
+            return this;
+        }
 
-            while (rs.next()) {
-                Category category = new Category();
-                category.setId(rs.getInt("id"));
-                category.setName(rs.getString("name"));
-                categories.add(category);
+        // Every public call is traced through instrumentation: latency, rows, mapped bytes and
+        // connection wait go to its metrics sink, tagged by method and filter shape.
+        public Builder instrumentation(QueryInstrumentation instrumentation) {
+            if (instrumentation == null) {
+                throw new IllegalArgumentException("QueryInstrumentation is required");
             }
+            this.instrumentation = instrumentation;
+            return this;
+        }
 
+        // A non-null productByIdCache answers getProductsByIds for hot ids without a round trip.
+        public Builder productByIdCache(ProductByIdCache productByIdCache) {
+            this.productByIdCache = productByIdCache;
+            return this;
+        }
+
+        public DataRetriever build() {
+            return new DataRetriever(this);
+        }
+    }
+
+    public List<Category> getAllCategories() {
+        QueryTrace trace = instrumentation.start("getAllCategories", "none");
+        try {
+            // Category is mutable, so callers get copies rather than the cached instances.
+            List<Category> categories = new ArrayList<>();
+            for (Category cached : categoryCache.get("all", () -> loadAllCategories(trace))) {
+                categories.add(new Category(cached.getId(), cached.getName()));
+            }
+            trace.addRows(categories.size());
+            return categories;
         } catch (SQLException e) {
+            trace.fail();
             System.err.println("Error getting categories: " + e.getMessage());
+            return new ArrayList<>();
+        } finally {
+            trace.finish();
+        }
+    }
+
+    public void invalidateCategoryCache() {
+        categoryCache.invalidateAll();
+    }
+
+    public CacheStats getCategoryCacheStats() {
+        return categoryCache.getStats();
+    }
+
+    private List<Category> loadAllCategories(QueryTrace trace) throws SQLException {
+        List<Category> categories = new ArrayList<>();
+        String sql = "SELECT * FROM product_category ORDER BY name";
+
+        try (Connection conn = connect(trace, true);
+             Statement stmt = conn.createStatement()) {
+
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    Category category = categoryInterner.newCategory(rs.getInt("id"), rs.getString("name"));
+                    trace.addMappedBytes(mappedBytes(category));
+                    categories.add(category);
+                }
+            }
+            explainIfSlow(conn, trace, sql, pstmt -> { });
         }
 
         return categories;
     }
 
     public List<Product> getProductList(int page, int size) {
+        QueryTrace trace = instrumentation.start("getProductList", "none");
+        try {
+            List<Product> products = loadProductList(page, size, trace);
+            trace.addRows(products.size());
+            return products;
+        } finally {
+            trace.finish();
+        }
+    }
+
+    private List<Product> loadProductList(int page, int size, QueryTrace trace) {
+        if (snapshot != null) {
+            try {
+                return snapshot.getProductList(page, size);
+            } catch (SQLException e) {
+                // The database answers instead, but the call is still recorded as failed.
+                trace.fail();
+                System.err.println("Error reading product snapshot: " + e.getMessage());
+            }
+        }
+
         List<Product> products = new ArrayList<>();
 
         int offset = (page - 1) * size;
 
-        String sql = "SELECT " +
-                "    p.id as product_id, " +
-                "    p.name as product_name, " +
+        String sql = useReadModel ? "SELECT id, name, price, creation_datetime, category_ids, category_names " +
+                "FROM product_read_model " +
+                "ORDER BY id LIMIT ? OFFSET ?" : "SELECT " +
+                "    p.id, " +
+                "    p.name, " +
                 "    p.price, " +
                 "    p.creation_datetime, " +
-                "    STRING_AGG(pc.name, ', ') as categories " +
-                "FROM product p " +
+                CATEGORY_ARRAYS +
+                "FROM (SELECT id, name, price, creation_datetime FROM product " +
+                "      ORDER BY id LIMIT ? OFFSET ?) p " +
                 "LEFT JOIN product_category pc ON p.id = pc.product_id " +
                 "GROUP BY p.id, p.name, p.price, p.creation_datetime " +
-                "ORDER BY p.id " +
-                "LIMIT ? OFFSET ?";
-
-        try (Connection conn = dbConnection.getDBConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                "ORDER BY p.id";
 
+        StatementBinder binder = pstmt -> {
             pstmt.setInt(1, size);
             pstmt.setInt(2, offset);
+        };
 
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    Product product = new Product();
-                    product.setId(rs.getInt("product_id"));
-                    product.setName(rs.getString("product_name"));
-                    product.setPrice(rs.getDouble("price"));
-
-                    Timestamp timestamp = rs.getTimestamp("creation_datetime");
-                    if (timestamp != null) {
-                        product.setCreationDateTime(timestamp.toInstant());
-                    }
+        try (Connection conn = connect(trace);
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-                    String categoriesStr = rs.getString("categories");
-                    if (categoriesStr != null) {
-                        Category category = new Category();
-                        category.setName(categoriesStr);
-                        product.setCategory(category);
-                    }
+            binder.bind(pstmt);
 
-                    products.add(product);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                ProductRow row = new ProductRow(rs, categoryInterner);
+                while (rs.next()) {
+                    products.add(mapProduct(row, trace));
                 }
             }
+            explainIfSlow(conn, trace, sql, binder);
 
         } catch (SQLException e) {
+            trace.fail();
             System.err.println("Error getting product list: " + e.getMessage());
         }
 
         return products;
     }
 
+    public Product getProductById(int id) {
+        List<Product> products = getProductsByIds(List.of(id)).getProducts();
+        return products.isEmpty() ? null : products.getFirst();
+    }
+
+    // Resolves any number of ids with one query per lookup.chunkSize uncached ids.
+    public ProductLookup getProductsByIds(Collection<Integer> ids) {
+        for (Integer id : ids) {
+            if (id == null) {
+                throw new IllegalArgumentException("Product ids must not be null");
+            }
+        }
+        QueryTrace trace = instrumentation.start("getProductsByIds", "ids");
+        try {
+            ProductLookup lookup = lookupProductsByIds(ids, trace);
+            trace.addRows(lookup.getProducts().size());
+            return lookup;
+        } catch (SQLException e) {
+            trace.fail();
+            System.err.println("Error getting products by id: " + e.getMessage());
+            return new ProductLookup(new ArrayList<>(), new ArrayList<>());
+        } finally {
+            trace.finish();
+        }
+    }
+
+    public CacheStats getProductByIdCacheStats() {
+        return productByIdCache != null ? productByIdCache.getStats() : null;
+    }
+
+    private ProductLookup lookupProductsByIds(Collection<Integer> ids, QueryTrace trace) throws SQLException {
+        LinkedHashSet<Integer> requested = new LinkedHashSet<>(ids);
+        Map<Integer, Product> found = new HashMap<>();
+        List<Integer> uncached = new ArrayList<>();
+        for (Integer id : requested) {
+            Product cached = productByIdCache != null ? productByIdCache.getIfPresent(id) : null;
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                uncached.add(id);
+            }
+        }
+
+        if (!uncached.isEmpty()) {
+            long loadGeneration = productByIdCache != null ? productByIdCache.generation() : 0;
+            String sql = useReadModel ? "SELECT id, name, price, creation_datetime, category_ids, category_names " +
+                    "FROM product_read_model WHERE id = ANY(?)" : "SELECT " +
+                    "    p.id, " +
+                    "    p.name, " +
+                    "    p.price, " +
+                    "    p.creation_datetime, " +
+                    CATEGORY_ARRAYS +
+                    "FROM product p " +
+                    "LEFT JOIN product_category pc ON p.id = pc.product_id " +
+                    "WHERE p.id = ANY(?) " +
+                    "GROUP BY p.id, p.name, p.price, p.creation_datetime";
+
+            try (Connection conn = connect(trace, productByIdCache != null);
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                // A slow lookup is explained with the binding of its slowest chunk.
+                StatementBinder slowestBinder = null;
+                long slowestNanos = -1;
+                // Every chunk reuses the statement, so the plan is shared once it is server-prepared.
+                for (int from = 0; from < uncached.size(); from += lookupChunkSize) {
+                    int[] chunk = uncached.subList(from, Math.min(from + lookupChunkSize, uncached.size()))
+                            .stream().mapToInt(Integer::intValue).toArray();
+                    StatementBinder binder = stmt -> stmt.setArray(1, stmt.getConnection().unwrap(PGConnection.class)
+                            .createArrayOf("int4", chunk));
+                    binder.bind(pstmt);
+
+                    long chunkStart = System.nanoTime();
+                    try (ResultSet rs = execute(pstmt)) {
+                        ProductRow row = new ProductRow(rs, categoryInterner);
+                        while (rs.next()) {
+                            Product product = mapProduct(row, trace);
+                            found.put(product.getId(), product);
+                            if (productByIdCache != null) {
+                                productByIdCache.putIfCurrent(product, loadGeneration);
+                            }
+                        }
+                    }
+                    long chunkNanos = System.nanoTime() - chunkStart;
+                    if (chunkNanos > slowestNanos) {
+                        slowestNanos = chunkNanos;
+                        slowestBinder = binder;
+                    }
+                }
+                explainIfSlow(conn, trace, sql, slowestBinder);
+            }
+        }
+
+        List<Product> products = new ArrayList<>(found.size());
+        List<Integer> missingIds = new ArrayList<>();
+        for (Integer id : requested) {
+            Product product = found.get(id);
+            if (product != null) {
+                products.add(product);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new ProductLookup(products, missingIds);
+    }
+
     public List<Product> getProductsByCriteria(String productName, String categoryName,
                                                Instant creationMin, Instant creationMax) {
         return getProductsByCriteriaInternal(productName, categoryName,
@@ -103,100 +394,585 @@ public class DataRetriever {
                 creationMin, creationMax, page, size);
     }
 
-    private List<Product> getProductsByCriteriaInternal(String productName, String categoryName,
-                                                        Instant creationMin, Instant creationMax,
-                                                        int page, int size) {
-        List<Product> products = new ArrayList<>();
+    public long countProductsByCriteria(String productName, String categoryName,
+                                        Instant creationMin, Instant creationMax) {
+        QueryTrace trace = instrumentation.start("countProductsByCriteria",
+                CriteriaFilter.describe(CriteriaFilter.shapeOf(productName, categoryName, creationMin, creationMax)));
+        CriteriaFilter filter = criteriaFilter(productName, categoryName, creationMin, creationMax);
+        String sql = sqlTemplate(COUNT_TEMPLATE | filter.shape());
 
-        StringBuilder sqlBuilder = new StringBuilder(
-                "SELECT p.id, p.name, p.price, p.creation_datetime, " +
-                        "STRING_AGG(pc.name, ', ') as categories " +
-                        "FROM product p " +
-                        "LEFT JOIN product_category pc ON p.id = pc.product_id " +
-                        "WHERE 1=1"
-        );
+        try (Connection conn = connect(trace);
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            filter.bind(pstmt, 1);
 
-        List<Object> parameters = new ArrayList<>();
+            long count;
+            try (ResultSet rs = execute(pstmt)) {
+                rs.next();
+                count = rs.getLong(1);
+            }
+            explainIfSlow(conn, trace, sql, stmt -> filter.bind(stmt, 1));
+            return count;
 
-        if (productName != null && !productName.trim().isEmpty()) {
-            sqlBuilder.append(" AND p.name ILIKE ?");
-            parameters.add("%" + productName.trim() + "%");
+        } catch (SQLException e) {
+            trace.fail();
+            System.err.println("Error counting products: " + e.getMessage());
+            return 0;
+        } finally {
+            trace.finish();
         }
+    }
 
-        if (categoryName != null && !categoryName.trim().isEmpty()) {
-            sqlBuilder.append(" AND EXISTS (");
-            sqlBuilder.append("   SELECT 1 FROM product_category pc2 ");
-            sqlBuilder.append("   WHERE pc2.product_id = p.id ");
-            sqlBuilder.append("   AND pc2.name ILIKE ?");
-            sqlBuilder.append(" )");
-            parameters.add("%" + categoryName.trim() + "%");
+    public StatementStats getStatementStats() {
+        return new StatementStats(sqlTemplates.size(), templateHits.sum(), templateMisses.sum(),
+                executions.sum(), serverPreparedExecutions.sum());
+    }
+
+    public ProductFacets getProductFacets(String productName, String categoryName,
+                                          Instant creationMin, Instant creationMax) {
+        return getProductFacets(productName, categoryName, creationMin, creationMax, new FacetOptions());
+    }
+
+    public ProductFacets getProductFacets(String productName, String categoryName,
+                                          Instant creationMin, Instant creationMax, FacetOptions options) {
+        ProductFacets facets = new ProductFacets();
+        QueryTrace trace = instrumentation.start("getProductFacets",
+                CriteriaFilter.describe(CriteriaFilter.shapeOf(productName, categoryName, creationMin, creationMax)));
+
+        try (Connection conn = connect(trace)) {
+            double samplePercent = 100.0;
+            if (options.isFastMode()) {
+                long estimate = estimateMatches(conn, productName, categoryName, creationMin, creationMax);
+                if (estimate > options.getEstimateThreshold()) {
+                    samplePercent = Math.max(0.01, 100.0 * options.getEstimateThreshold() / estimate);
+                }
+            }
+            loadFacets(conn, productName, categoryName, creationMin, creationMax,
+                    options, samplePercent, facets, trace);
+
+        } catch (SQLException e) {
+            trace.fail();
+            System.err.println("Error getting product facets: " + e.getMessage());
+        } finally {
+            trace.finish();
         }
 
-        if (creationMin != null) {
-            sqlBuilder.append(" AND p.creation_datetime >= ?");
-            parameters.add(Timestamp.from(creationMin));
+        return facets;
+    }
+
+    private long estimateMatches(Connection conn, String productName, String categoryName,
+                                 Instant creationMin, Instant creationMax) throws SQLException {
+        CriteriaFilter filter = criteriaFilter(productName, categoryName, creationMin, creationMax);
+        StringBuilder sqlBuilder = new StringBuilder("EXPLAIN (FORMAT JSON) SELECT 1 FROM product p WHERE 1=1");
+        CriteriaFilter.appendSql(sqlBuilder, filter.shape());
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sqlBuilder.toString())) {
+            filter.bind(pstmt, 1);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                Matcher matcher = PLAN_ROWS.matcher(rs.getString(1));
+                return matcher.find() ? Long.parseLong(matcher.group(1)) : 0;
+            }
         }
+    }
 
-        if (creationMax != null) {
-            sqlBuilder.append(" AND p.creation_datetime <= ?");
-            parameters.add(Timestamp.from(creationMax));
+    // One pass over the matching products feeds the total, category, price and date facets.
+    private void loadFacets(Connection conn, String productName, String categoryName,
+                            Instant creationMin, Instant creationMax, FacetOptions options,
+                            double samplePercent, ProductFacets facets, QueryTrace trace) throws SQLException {
+        CriteriaFilter filter = criteriaFilter(productName, categoryName, creationMin, creationMax);
+        StringBuilder matched = new StringBuilder("SELECT p.id, p.price, p.creation_datetime FROM product p");
+        if (samplePercent < 100.0) {
+            matched.append(" TABLESAMPLE SYSTEM (")
+                    .append(String.format(Locale.ROOT, "%.4f", samplePercent)).append(")");
+        }
+        matched.append(" WHERE 1=1");
+        CriteriaFilter.appendSql(matched, filter.shape());
+
+        String sql = "WITH matched AS MATERIALIZED (" + matched + ") " +
+                "SELECT 'total' AS facet, NULL AS label, NULL::float8 AS bucket, NULL::timestamp AS period, " +
+                "       count(*) AS hits FROM matched " +
+                "UNION ALL " +
+                "SELECT 'category', pc.name, NULL, NULL, count(DISTINCT m.id) " +
+                "FROM matched m JOIN product_category pc ON pc.product_id = m.id GROUP BY pc.name " +
+                "UNION ALL " +
+                "SELECT 'price', NULL, floor(m.price / ?::float8) * ?::float8, NULL, count(*) " +
+                "FROM matched m GROUP BY 3 " +
+                "UNION ALL " +
+                "SELECT 'created', NULL, NULL, date_trunc(?, m.creation_datetime), count(*) " +
+                "FROM matched m WHERE m.creation_datetime IS NOT NULL GROUP BY 4 " +
+                "ORDER BY facet, hits DESC";
+
+        double scale = 100.0 / samplePercent;
+        StatementBinder binder = pstmt -> {
+            int index = filter.bind(pstmt, 1);
+            pstmt.setDouble(index++, options.getPriceBucketWidth());
+            pstmt.setDouble(index++, options.getPriceBucketWidth());
+            pstmt.setString(index, options.getCreationPeriod());
+        };
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            binder.bind(pstmt);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    trace.addRows(1);
+                    long hits = Math.round(rs.getLong("hits") * scale);
+                    switch (rs.getString("facet")) {
+                        case "total" -> facets.setTotalCount(hits);
+                        case "category" -> facets.getCategoryCounts().put(rs.getString("label"), hits);
+                        case "price" -> facets.getPriceHistogram().put(rs.getDouble("bucket"), hits);
+                        case "created" -> facets.getCreationHistogram().put(rs.getTimestamp("period").toInstant(), hits);
+                        default -> throw new SQLException("Unexpected facet row: " + rs.getString("facet"));
+                    }
+                }
+            }
         }
+        explainIfSlow(conn, trace, sql, binder);
+        facets.setEstimated(samplePercent < 100.0);
+    }
 
-        sqlBuilder.append(" GROUP BY p.id, p.name, p.price, p.creation_datetime");
+    public ProductPage getProductPage(String cursor, int size) {
+        return getProductsByCriteriaPage(null, null, null, null, cursor, size);
+    }
 
-        sqlBuilder.append(" ORDER BY p.id");
+    public ProductPage getProductsByCriteriaPage(String productName, String categoryName,
+                                                 Instant creationMin, Instant creationMax,
+                                                 String cursor, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + size);
+        }
+        int afterId = PageCursor.decode(cursor);
+
+        QueryTrace trace = instrumentation.start("getProductsByCriteriaPage",
+                CriteriaFilter.describe(CriteriaFilter.shapeOf(productName, categoryName, creationMin, creationMax)));
+        List<Product> products;
+        try {
+            products = queryProductsByCriteria(productName, categoryName,
+                    creationMin, creationMax, afterId, size + 1, 0, trace);
+            trace.addRows(Math.min(products.size(), size));
+        } finally {
+            trace.finish();
+        }
 
-        boolean usePagination = page > 0 && size > 0;
-        if (usePagination) {
-            int offset = (page - 1) * size;
-            sqlBuilder.append(" LIMIT ? OFFSET ?");
-            parameters.add(size);
-            parameters.add(offset);
+        String nextCursor = null;
+        if (products.size() > size) {
+            products.remove(size);
+            nextCursor = PageCursor.encode(products.get(size - 1).getId());
         }
+        return new ProductPage(products, nextCursor);
+    }
 
-        String sql = sqlBuilder.toString();
+    public void invalidateProductQueryCache() {
+        if (productQueryCache != null) {
+            productQueryCache.invalidateAll();
+        }
+    }
 
-        try (Connection conn = dbConnection.getDBConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    public CacheStats getProductQueryCacheStats() {
+        return productQueryCache != null ? productQueryCache.getStats() : null;
+    }
 
-            for (int i = 0; i < parameters.size(); i++) {
-                pstmt.setObject(i + 1, parameters.get(i));
+    private List<Product> getProductsByCriteriaInternal(String productName, String categoryName,
+                                                        Instant creationMin, Instant creationMax,
+                                                        int page, int size) {
+        QueryTrace trace = instrumentation.start("getProductsByCriteria",
+                CriteriaFilter.describe(CriteriaFilter.shapeOf(productName, categoryName, creationMin, creationMax)));
+        try {
+            List<Product> products = loadProductsByCriteria(productName, categoryName,
+                    creationMin, creationMax, page, size, trace);
+            trace.addRows(products.size());
+            return products;
+        } finally {
+            trace.finish();
+        }
+    }
+
+    private List<Product> loadProductsByCriteria(String productName, String categoryName,
+                                                 Instant creationMin, Instant creationMax,
+                                                 int page, int size, QueryTrace trace) {
+        boolean usePagination = page > 0 && size > 0;
+        int limit = usePagination ? size : 0;
+        int offset = usePagination ? (page - 1) * size : 0;
+
+        if (snapshot != null) {
+            try {
+                List<Product> products = snapshot.getProductsByCriteria(productName, categoryName,
+                        creationMin, creationMax, page, size);
+                if (products != null) {
+                    return products;
+                }
+            } catch (SQLException e) {
+                trace.fail();
+                System.err.println("Error reading product snapshot: " + e.getMessage());
             }
+        }
 
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    products.add(mapResultSetToProduct(rs));
+        if (productQueryCache == null) {
+            return queryProductsByCriteria(productName, categoryName, creationMin, creationMax,
+                    0, limit, offset, trace);
+        }
+
+        ProductCriteria criteria = ProductCriteria.of(productName, categoryName,
+                creationMin, creationMax, page, size);
+        try {
+            return productQueryCache.get(criteria, () -> fetchProductsByCriteria(
+                    productName, categoryName, creationMin, creationMax, 0, limit, offset, true, trace));
+        } catch (SQLException e) {
+            trace.fail();
+            System.err.println("Error in getProductsByCriteria: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    public Stream<Product> streamProductsByCriteria(String productName, String categoryName,
+                                                    Instant creationMin, Instant creationMax,
+                                                    int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("Fetch size must be positive: " + fetchSize);
+        }
+        QueryTrace trace = instrumentation.start("streamProductsByCriteria",
+                CriteriaFilter.describe(CriteriaFilter.shapeOf(productName, categoryName, creationMin, creationMax)));
+        try {
+            return openProductStream(productName, categoryName, creationMin, creationMax, 0, 0, fetchSize,
+                    null, trace);
+        } catch (SQLException e) {
+            System.err.println("Error in streamProductsByCriteria: " + e.getMessage());
+            return Stream.empty();
+        }
+    }
+
+    // Matching rows with afterId < id <= untilId in id order, on their own connection. With a
+    // snapshotId exported by pg_export_snapshot() the rows are read on the primary as of that
+    // snapshot. Unlike streamProductsByCriteria, a failure to open the stream is thrown.
+    Stream<Product> streamProductRange(ProductCriteria criteria, int afterId, int untilId,
+                                       int fetchSize, String snapshotId) throws SQLException {
+        QueryTrace trace = instrumentation.start("streamProductRange",
+                CriteriaFilter.describe(CriteriaFilter.shapeOf(criteria.getProductName(),
+                        criteria.getCategoryName(), criteria.getCreationMin(), criteria.getCreationMax())));
+        return openProductStream(criteria.getProductName(), criteria.getCategoryName(),
+                criteria.getCreationMin(), criteria.getCreationMax(), afterId, untilId, fetchSize,
+                snapshotId, trace);
+    }
+
+    // Hands every matching row to visitor in id order through one ProductRow flyweight, without
+    // materializing a Product per row; creation times are selected as epoch microseconds.
+    // Always reads the database, never the snapshot or caches. Returns the number of rows visited.
+    public long visitProductsByCriteria(String productName, String categoryName,
+                                        Instant creationMin, Instant creationMax,
+                                        int fetchSize, ProductRowVisitor visitor) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("Fetch size must be positive: " + fetchSize);
+        }
+        QueryTrace trace = instrumentation.start("visitProductsByCriteria",
+                CriteriaFilter.describe(CriteriaFilter.shapeOf(productName, categoryName, creationMin, creationMax)));
+        long visited = 0;
+        try {
+            CriteriaFilter filter = criteriaFilter(productName, categoryName, creationMin, creationMax);
+            String sql = sqlTemplate(ROWS_TEMPLATE | EPOCH_TEMPLATE | filter.shape());
+            StatementBinder binder = pstmt -> filter.bind(pstmt, 1);
+
+            try (Connection conn = connect(trace)) {
+                // The driver only uses a server-side cursor outside auto-commit mode.
+                conn.setAutoCommit(false);
+                try (PreparedStatement pstmt = conn.prepareStatement(sql,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                    pstmt.setFetchSize(fetchSize);
+                    binder.bind(pstmt);
+                    try (ResultSet rs = execute(pstmt)) {
+                        ProductRow row = new ProductRow(rs, categoryInterner);
+                        while (rs.next()) {
+                            visitor.visit(row);
+                            visited++;
+                        }
+                    }
+                    explainIfSlow(conn, trace, sql, binder);
                 }
             }
+        } catch (SQLException e) {
+            trace.fail();
+            System.err.println("Error in visitProductsByCriteria: " + e.getMessage());
+        } finally {
+            trace.addRows(visited);
+            trace.finish();
+        }
+        return visited;
+    }
 
+    private Stream<Product> openProductStream(String productName, String categoryName,
+                                              Instant creationMin, Instant creationMax,
+                                              int afterId, int untilId, int fetchSize,
+                                              String snapshotId, QueryTrace trace) throws SQLException {
+        CriteriaFilter filter = criteriaFilter(productName, categoryName, creationMin, creationMax);
+        int paging = (afterId > 0 ? AFTER_ID : 0) | (untilId > 0 ? UNTIL_ID : 0);
+        String sql = sqlTemplate(ROWS_TEMPLATE | paging << CriteriaFilter.SHAPE_BITS | filter.shape());
+        StatementBinder binder = pstmt -> {
+            int index = filter.bind(pstmt, 1);
+            if (afterId > 0) {
+                pstmt.setInt(index++, afterId);
+            }
+            if (untilId > 0) {
+                pstmt.setInt(index, untilId);
+            }
+        };
+
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        try {
+            conn = connect(trace, snapshotId != null);
+            // The driver only uses a server-side cursor outside auto-commit mode.
+            conn.setAutoCommit(false);
+            if (snapshotId != null) {
+                importSnapshot(conn, snapshotId);
+            }
+            pstmt = conn.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            pstmt.setFetchSize(fetchSize);
+            binder.bind(pstmt);
+            ResultSet rs = execute(pstmt);
+            // Only the time to the first batch is known here, so slowness is judged on that;
+            // the recorded latency runs until the stream is closed.
+            explainIfSlow(conn, trace, sql, binder);
+            ProductRow productRow = new ProductRow(rs, categoryInterner);
+            return ResultSetStream.of(conn, pstmt, rs, row -> {
+                trace.addRows(1);
+                return mapProduct(productRow, trace);
+            }).onClose(trace::finish);
         } catch (SQLException e) {
+            trace.fail();
+            trace.finish();
+            ResultSetStream.closeQuietly(pstmt);
+            ResultSetStream.closeQuietly(conn);
+            throw e;
+        }
+    }
+
+    private List<Product> queryProductsByCriteria(String productName, String categoryName,
+                                                  Instant creationMin, Instant creationMax,
+                                                  int afterId, int limit, int offset, QueryTrace trace) {
+        try {
+            return fetchProductsByCriteria(productName, categoryName, creationMin, creationMax,
+                    afterId, limit, offset, false, trace);
+        } catch (SQLException e) {
+            trace.fail();
             System.err.println("Error in getProductsByCriteria: " + e.getMessage());
-            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    private List<Product> fetchProductsByCriteria(String productName, String categoryName,
+                                                  Instant creationMin, Instant creationMax,
+                                                  int afterId, int limit, int offset, boolean primary,
+                                                  QueryTrace trace) throws SQLException {
+        List<Product> products = new ArrayList<>();
+        CriteriaFilter filter = criteriaFilter(productName, categoryName, creationMin, creationMax);
+        int paging = (afterId > 0 ? AFTER_ID : 0) | (limit > 0 ? LIMIT : 0) | (offset > 0 ? OFFSET : 0);
+        String sql = sqlTemplate(ROWS_TEMPLATE | paging << CriteriaFilter.SHAPE_BITS | filter.shape());
+
+        StatementBinder binder = pstmt -> {
+            int index = filter.bind(pstmt, 1);
+            if (afterId > 0) {
+                pstmt.setInt(index++, afterId);
+            }
+            if (limit > 0) {
+                pstmt.setInt(index++, limit);
+            }
+            if (offset > 0) {
+                pstmt.setInt(index, offset);
+            }
+        };
+
+        try (Connection conn = connect(trace, primary);
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            binder.bind(pstmt);
+
+            try (ResultSet rs = execute(pstmt)) {
+                ProductRow row = new ProductRow(rs, categoryInterner);
+                while (rs.next()) {
+                    products.add(mapProduct(row, trace));
+                }
+            }
+            explainIfSlow(conn, trace, sql, binder);
         }
 
         return products;
     }
 
-    private Product mapResultSetToProduct(ResultSet rs) throws SQLException {
-        Product product = new Product();
-        product.setId(rs.getInt("id"));
-        product.setName(rs.getString("name"));
-        product.setPrice(rs.getDouble("price"));
+    private CriteriaFilter criteriaFilter(String productName, String categoryName,
+                                          Instant creationMin, Instant creationMax) {
+        ProductSearchIndex.Candidates candidates = null;
+        if (searchIndex != null) {
+            try {
+                candidates = searchIndex.search(productName, categoryName);
+            } catch (SQLException e) {
+                System.err.println("Error reading product search index: " + e.getMessage());
+            }
+        }
+        return new CriteriaFilter(productName, categoryName, creationMin, creationMax, candidates);
+    }
+
+    // SQL text depends only on the filter shape and paging clauses, so it is built once per
+    // combination; the stable text lets the driver's per-connection statement cache switch
+    // to a server-prepared plan after prepareThreshold executions.
+    private String sqlTemplate(int key) {
+        String sql = sqlTemplates.get(key);
+        if (sql != null) {
+            templateHits.increment();
+            return sql;
+        }
+        templateMisses.increment();
+        return sqlTemplates.computeIfAbsent(key, this::buildSql);
+    }
+
+    private String buildSql(int key) {
+        int shape = key & ((1 << CriteriaFilter.SHAPE_BITS) - 1);
+        int paging = key >> CriteriaFilter.SHAPE_BITS;
+
+        if ((key & COUNT_TEMPLATE) != 0) {
+            StringBuilder sqlBuilder = new StringBuilder("SELECT count(*) FROM product p WHERE 1=1");
+            CriteriaFilter.appendSql(sqlBuilder, shape);
+            return sqlBuilder.toString();
+        }
+
+        String creation = (key & EPOCH_TEMPLATE) != 0 ? CREATION_EPOCH : "p.creation_datetime";
+
+        if (useReadModel) {
+            StringBuilder sqlBuilder = new StringBuilder(
+                    "SELECT p.id, p.name, p.price, " + creation + ", p.category_ids, p.category_names " +
+                            "FROM product_read_model p " +
+                            "WHERE 1=1"
+            );
+            CriteriaFilter.appendSql(sqlBuilder, shape);
+            appendPaging(sqlBuilder, paging);
+            return sqlBuilder.toString();
+        }
+
+        // Filter, order and page over product alone, then aggregate categories for the page only,
+        // so the join via idx_product_category_product_id touches just the returned rows.
+        StringBuilder sqlBuilder = new StringBuilder(
+                "SELECT p.id, p.name, p.price, " + creation + ", " +
+                        CATEGORY_ARRAYS +
+                        "FROM (" +
+                        "SELECT p.id, p.name, p.price, p.creation_datetime " +
+                        "FROM product p " +
+                        "WHERE 1=1"
+        );
+
+        CriteriaFilter.appendSql(sqlBuilder, shape);
+        appendPaging(sqlBuilder, paging);
+
+        sqlBuilder.append(") p");
+        sqlBuilder.append(" LEFT JOIN product_category pc ON p.id = pc.product_id");
+        sqlBuilder.append(" GROUP BY p.id, p.name, p.price, p.creation_datetime");
+        sqlBuilder.append(" ORDER BY p.id");
+
+        return sqlBuilder.toString();
+    }
+
+    private void appendPaging(StringBuilder sqlBuilder, int paging) {
+        if ((paging & AFTER_ID) != 0) {
+            sqlBuilder.append(" AND p.id > ?");
+        }
+        if ((paging & UNTIL_ID) != 0) {
+            sqlBuilder.append(" AND p.id <= ?");
+        }
+
+        sqlBuilder.append(" ORDER BY p.id");
+
+        if ((paging & LIMIT) != 0) {
+            sqlBuilder.append(" LIMIT ?");
+        }
+        if ((paging & OFFSET) != 0) {
+            sqlBuilder.append(" OFFSET ?");
+        }
+    }
+
+    // Every DataRetriever call is a read, so connections come from the replica router.
+    private Connection connect(QueryTrace trace) throws SQLException {
+        return connect(trace, false);
+    }
 
-        Timestamp timestamp = rs.getTimestamp("creation_datetime");
-        if (timestamp != null) {
-            product.setCreationDateTime(timestamp.toInstant());
+    // Loads that fill a cache read the primary: caches are invalidated on writes, and a reload
+    // from a lagging replica would put the stale rows back for a whole TTL.
+    private Connection connect(QueryTrace trace, boolean primary) throws SQLException {
+        long start = System.nanoTime();
+        Connection conn = primary ? dbConnection.getDBConnection() : dbConnection.getReadConnection();
+        trace.addConnectionWait(System.nanoTime() - start);
+        return conn;
+    }
+
+    // Must run before any other statement of the transaction; the id cannot be a bind parameter.
+    private static void importSnapshot(Connection conn, String snapshotId) throws SQLException {
+        if (!snapshotId.matches("[0-9A-Fa-f-]+")) {
+            throw new IllegalArgumentException("Invalid snapshot id: " + snapshotId);
         }
+        conn.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("SET TRANSACTION SNAPSHOT '" + snapshotId + "'");
+        }
+    }
 
-        String categoriesStr = rs.getString("categories");
-        if (categoriesStr != null) {
-            Category category = new Category();
-            category.setName(categoriesStr);
-            product.setCategory(category);
-        } else {
-            product.setCategory(new Category(0, "No Category"));
+    // Runs EXPLAIN with the same bindings once a traced call has crossed the slow-query
+    // threshold; a failing EXPLAIN is logged in place of the plan rather than thrown.
+    private void explainIfSlow(Connection conn, QueryTrace trace, String sql, StatementBinder binder) {
+        if (!trace.isSlow()) {
+            return;
         }
+        String plan = null;
+        if (instrumentation.getSlowQueryLog().isExplainEnabled()) {
+            try (PreparedStatement pstmt = conn.prepareStatement("EXPLAIN " + sql)) {
+                binder.bind(pstmt);
+                StringBuilder planBuilder = new StringBuilder();
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        planBuilder.append(planBuilder.length() > 0 ? "\n" : "").append(rs.getString(1));
+                    }
+                }
+                plan = planBuilder.toString();
+            } catch (SQLException e) {
+                plan = "EXPLAIN failed: " + e.getMessage();
+            }
+        }
+        instrumentation.logSlowQuery(trace, sql, plan);
+    }
 
+    private ResultSet execute(PreparedStatement pstmt) throws SQLException {
+        executions.increment();
+        ResultSet rs = pstmt.executeQuery();
+        if (pstmt.isWrapperFor(PGStatement.class) && pstmt.unwrap(PGStatement.class).isUseServerPrepare()) {
+            serverPreparedExecutions.increment();
+        }
+        return rs;
+    }
+
+    private Product mapProduct(ProductRow row, QueryTrace trace) throws SQLException {
+        Product product = row.toProduct();
+        trace.addMappedBytes(mappedBytes(product));
         return product;
     }
-}
\ No newline at end of file
+
+    // The shared search index only stays a superset of the matches while the change feed
+    // triggers its rebuilds after renames and late commits.
+    private static boolean searchIndexEnabled(DBConnection dbConnection) {
+        if (!dbConnection.getBooleanProperty("searchIndex.enabled", false)) {
+            return false;
+        }
+        if (!dbConnection.getBooleanProperty("changefeed.enabled", false)) {
+            System.err.println("searchIndex.enabled requires changefeed.enabled; not using the search index");
+            return false;
+        }
+        return true;
+    }
+
+    // Rough heap footprint of mapped values: fixed-width columns plus UTF-16 strings.
+    private static long mappedBytes(Product product) {
+        long bytes = 24 + (product.getName() != null ? 2L * product.getName().length() : 0);
+        for (Category category : product.getCategories()) {
+            bytes += mappedBytes(category);
+        }
+        return bytes;
+    }
+
+    private static long mappedBytes(Category category) {
+        return 4 + (category.getName() != null ? 2L * category.getName().length() : 0);
+    }
+}
@@ -0,0 +1,47 @@
+package com.productmanagement.dao;
+
+public class ExportProgress {
+    private final int rangesCompleted;
+    private final int rangesTotal;
+    private final long rows;
+    private final long elapsedNanos;
+
+    public ExportProgress(int rangesCompleted, int rangesTotal, long rows, long elapsedNanos) {
+        this.rangesCompleted = rangesCompleted;
+        this.rangesTotal = rangesTotal;
+        this.rows = rows;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getRangesCompleted() {
+        return rangesCompleted;
+    }
+
+    public int getRangesTotal() {
+        return rangesTotal;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : rows * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    public boolean isDone() {
+        return rangesCompleted == rangesTotal;
+    }
+
+    @Override
+    public String toString() {
+        return "ExportProgress{ranges=" + rangesCompleted + "/" + rangesTotal +
+                ", rows=" + rows +
+                ", elapsedMs=" + elapsedNanos / 1_000_000 +
+                ", rowsPerSecond=" + String.format("%.0f", getRowsPerSecond()) + "}";
+    }
+}
@@ -0,0 +1,53 @@
+package com.productmanagement.dao;
+
+import java.util.Set;
+
+public class FacetOptions {
+    private static final Set<String> PERIODS = Set.of("day", "week", "month", "quarter", "year");
+
+    private double priceBucketWidth = 100.0;
+    private String creationPeriod = "month";
+    private boolean fastMode = false;
+    private long estimateThreshold = 1_000_000L;
+
+    public double getPriceBucketWidth() {
+        return priceBucketWidth;
+    }
+
+    public void setPriceBucketWidth(double priceBucketWidth) {
+        if (priceBucketWidth <= 0) {
+            throw new IllegalArgumentException("Price bucket width must be positive: " + priceBucketWidth);
+        }
+        this.priceBucketWidth = priceBucketWidth;
+    }
+
+    public String getCreationPeriod() {
+        return creationPeriod;
+    }
+
+    public void setCreationPeriod(String creationPeriod) {
+        if (!PERIODS.contains(creationPeriod)) {
+            throw new IllegalArgumentException("Unsupported creation period: " + creationPeriod);
+        }
+        this.creationPeriod = creationPeriod;
+    }
+
+    public boolean isFastMode() {
+        return fastMode;
+    }
+
+    public void setFastMode(boolean fastMode) {
+        this.fastMode = fastMode;
+    }
+
+    public long getEstimateThreshold() {
+        return estimateThreshold;
+    }
+
+    public void setEstimateThreshold(long estimateThreshold) {
+        if (estimateThreshold <= 0) {
+            throw new IllegalArgumentException("Estimate threshold must be positive: " + estimateThreshold);
+        }
+        this.estimateThreshold = estimateThreshold;
+    }
+}
@@ -0,0 +1,35 @@
+package com.productmanagement.dao;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+final class PageCursor {
+    private static final String PREFIX = "after:";
+
+    private PageCursor() {}
+
+    static String encode(int lastProductId) {
+        byte[] raw = (PREFIX + lastProductId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    static int decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page cursor: " + cursor, e);
+        }
+        if (!raw.startsWith(PREFIX)) {
+            throw new IllegalArgumentException("Invalid page cursor: " + cursor);
+        }
+        try {
+            return Integer.parseInt(raw.substring(PREFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page cursor: " + cursor, e);
+        }
+    }
+}
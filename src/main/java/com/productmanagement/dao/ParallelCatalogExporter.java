@@ -0,0 +1,348 @@
+package com.productmanagement.dao;
+
+import com.productmanagement.DBConnection;
+import com.productmanagement.model.Category;
+import com.productmanagement.model.Product;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Exports the products matching a criteria by splitting the id space into equal ranges and
+// streaming each range on its own connection, parallelism ranges at a time. Paging fields of
+// the criteria are ignored. The export is one consistent view of the catalog: a REPEATABLE
+// READ transaction on the primary exports its snapshot and takes the id bounds in it, and
+// every range imports that snapshot, so writes committed meanwhile are not seen by any range.
+public class ParallelCatalogExporter {
+    private static final int BATCH_SIZE = 1000;
+    private static final int QUEUED_BATCHES = 4;
+    private static final List<Product> END_OF_RANGE = List.of();
+
+    private final DataRetriever dataRetriever;
+    private final DBConnection dbConnection;
+    private final int parallelism;
+    private final int fetchSize;
+    private final int rangesPerWorker;
+
+    public ParallelCatalogExporter() {
+        DBConnection config = new DBConnection();
+        this.dataRetriever = new DataRetriever();
+        this.dbConnection = config;
+        this.parallelism = Math.max(1, config.getIntProperty("export.parallelism", 4));
+        this.fetchSize = Math.max(1, config.getIntProperty("export.fetchSize", 5000));
+        this.rangesPerWorker = Math.max(1, config.getIntProperty("export.rangesPerWorker", 4));
+    }
+
+    // More ranges than workers keeps every worker busy when ids are unevenly dense.
+    public ParallelCatalogExporter(DataRetriever dataRetriever, DBConnection dbConnection,
+                                   int parallelism, int fetchSize, int rangesPerWorker) {
+        if (parallelism <= 0 || fetchSize <= 0 || rangesPerWorker <= 0) {
+            throw new IllegalArgumentException("Parallelism, fetch size and ranges per worker must be positive: " +
+                    parallelism + ", " + fetchSize + ", " + rangesPerWorker);
+        }
+        this.dataRetriever = dataRetriever;
+        this.dbConnection = dbConnection;
+        this.parallelism = parallelism;
+        this.fetchSize = fetchSize;
+        this.rangesPerWorker = rangesPerWorker;
+    }
+
+    // Hands every matching product to sink in id order. Ranges are read ahead in parallel
+    // into bounded buffers and drained one range after the other, so at most parallelism
+    // ranges hold rows in memory. Progress callbacks come from worker threads, one at a time.
+    public ExportProgress exportOrdered(ProductCriteria criteria, Consumer<Product> sink,
+                                        Consumer<ExportProgress> progress) throws SQLException {
+        ExportSnapshot snapshot = exportSnapshot();
+        List<int[]> ranges = snapshot.ranges;
+        ProgressTracker tracker = new ProgressTracker(ranges.size(), progress);
+        List<RangeBuffer> buffers = new ArrayList<>();
+        ExecutorService workers = newWorkers();
+        try {
+            // Ranges are queued in order, so the one being drained is always running or done.
+            for (int[] range : ranges) {
+                RangeBuffer buffer = new RangeBuffer();
+                buffers.add(buffer);
+                workers.execute(() -> fillBuffer(criteria, range, snapshot.id, buffer, tracker));
+            }
+            for (RangeBuffer buffer : buffers) {
+                List<Product> batch;
+                while ((batch = buffer.queue.take()) != END_OF_RANGE) {
+                    batch.forEach(sink);
+                }
+                if (buffer.failure != null) {
+                    throw buffer.failure;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while exporting products", e);
+        } finally {
+            workers.shutdownNow();
+            snapshot.close();
+        }
+        return tracker.snapshot();
+    }
+
+    // Writes one CSV file per id range into directory, products-00000.csv onward, each in id
+    // order with a header line; categories are joined with '|'.
+    public ExportProgress exportToFiles(ProductCriteria criteria, Path directory,
+                                        Consumer<ExportProgress> progress) throws SQLException, IOException {
+        Files.createDirectories(directory);
+        ExportSnapshot snapshot = exportSnapshot();
+        List<int[]> ranges = snapshot.ranges;
+        ProgressTracker tracker = new ProgressTracker(ranges.size(), progress);
+        List<Future<?>> files = new ArrayList<>();
+        ExecutorService workers = newWorkers();
+        try {
+            for (int i = 0; i < ranges.size(); i++) {
+                int[] range = ranges.get(i);
+                Path file = directory.resolve(String.format("products-%05d.csv", i));
+                files.add(workers.submit(() -> {
+                    writeRange(criteria, range, snapshot.id, file, tracker);
+                    return null;
+                }));
+            }
+            for (Future<?> file : files) {
+                file.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while exporting products", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IllegalStateException("Error exporting products: " + cause.getMessage(), cause);
+        } finally {
+            workers.shutdownNow();
+            snapshot.close();
+        }
+        return tracker.snapshot();
+    }
+
+    // (afterId, untilId] bounds covering min(id)..max(id); empty when there are no products.
+    List<int[]> splitIdRange() throws SQLException {
+        try (ExportSnapshot snapshot = exportSnapshot()) {
+            return snapshot.ranges;
+        }
+    }
+
+    // The exporting transaction has to stay open until every range has imported its snapshot,
+    // so it is only closed once the export is over.
+    private ExportSnapshot exportSnapshot() throws SQLException {
+        Connection conn = dbConnection.getDBConnection();
+        try {
+            conn.setAutoCommit(false);
+            conn.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            try (Statement stmt = conn.createStatement()) {
+                String id;
+                try (ResultSet rs = stmt.executeQuery("SELECT pg_export_snapshot()")) {
+                    rs.next();
+                    id = rs.getString(1);
+                }
+                List<int[]> ranges = new ArrayList<>();
+                try (ResultSet rs = stmt.executeQuery("SELECT min(id), max(id) FROM product")) {
+                    rs.next();
+                    long min = rs.getLong(1);
+                    if (!rs.wasNull()) {
+                        long span = rs.getLong(2) - min + 1;
+                        int count = (int) Math.min(span, (long) parallelism * rangesPerWorker);
+                        for (int i = 0; i < count; i++) {
+                            ranges.add(new int[] {(int) (min - 1 + span * i / count),
+                                    (int) (min - 1 + span * (i + 1) / count)});
+                        }
+                    }
+                }
+                return new ExportSnapshot(conn, id, ranges);
+            }
+        } catch (SQLException e) {
+            ResultSetStream.closeQuietly(conn);
+            throw e;
+        }
+    }
+
+    private void fillBuffer(ProductCriteria criteria, int[] range, String snapshotId, RangeBuffer buffer,
+                            ProgressTracker tracker) {
+        try {
+            try (Stream<Product> products = openRange(criteria, range, snapshotId)) {
+                List<Product> batch = new ArrayList<>(BATCH_SIZE);
+                Iterator<Product> rows = products.iterator();
+                while (rows.hasNext()) {
+                    batch.add(rows.next());
+                    if (batch.size() == BATCH_SIZE) {
+                        tracker.addRows(batch.size());
+                        buffer.queue.put(batch);
+                        batch = new ArrayList<>(BATCH_SIZE);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    tracker.addRows(batch.size());
+                    buffer.queue.put(batch);
+                }
+                tracker.rangeCompleted();
+            } catch (SQLException e) {
+                buffer.failure = e;
+            } catch (RuntimeException e) {
+                // The reader must always see END_OF_RANGE, or it would wait on this buffer forever.
+                buffer.failure = e.getCause() instanceof SQLException cause ? cause
+                        : new SQLException("Error exporting products: " + e.getMessage(), e);
+            }
+            buffer.queue.put(END_OF_RANGE);
+        } catch (InterruptedException e) {
+            // The export was abandoned; nobody drains this buffer any more.
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeRange(ProductCriteria criteria, int[] range, String snapshotId, Path file,
+                            ProgressTracker tracker) throws SQLException, IOException {
+        try (Stream<Product> products = openRange(criteria, range, snapshotId);
+             BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("id,name,price,creation_datetime,categories");
+            writer.newLine();
+            Iterator<Product> rows = products.iterator();
+            int pending = 0;
+            while (rows.hasNext()) {
+                writeCsvLine(writer, rows.next());
+                if (++pending == BATCH_SIZE) {
+                    tracker.addRows(pending);
+                    pending = 0;
+                }
+            }
+            tracker.addRows(pending);
+        } catch (IllegalStateException e) {
+            if (e.getCause() instanceof SQLException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        tracker.rangeCompleted();
+    }
+
+    private Stream<Product> openRange(ProductCriteria criteria, int[] range, String snapshotId)
+            throws SQLException {
+        return dataRetriever.streamProductRange(criteria, range[0], range[1], fetchSize, snapshotId);
+    }
+
+    private ExecutorService newWorkers() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "catalog-export-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static void writeCsvLine(BufferedWriter writer, Product product) throws IOException {
+        StringBuilder categories = new StringBuilder();
+        for (Category category : product.getCategories()) {
+            if (!categories.isEmpty()) {
+                categories.append('|');
+            }
+            categories.append(category.getName());
+        }
+        writer.write(Integer.toString(product.getId()));
+        writer.write(',');
+        writer.write(csvField(product.getName()));
+        writer.write(',');
+        writer.write(Double.toString(product.getPrice()));
+        writer.write(',');
+        writer.write(product.getCreationDateTime() != null ? product.getCreationDateTime().toString() : "");
+        writer.write(',');
+        writer.write(csvField(categories.toString()));
+        writer.newLine();
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static final class ExportSnapshot implements AutoCloseable {
+        private final Connection conn;
+        private final String id;
+        private final List<int[]> ranges;
+
+        private ExportSnapshot(Connection conn, String id, List<int[]> ranges) {
+            this.conn = conn;
+            this.id = id;
+            this.ranges = ranges;
+        }
+
+        // Returning the connection rolls the read-only transaction back, which releases the snapshot.
+        @Override
+        public void close() {
+            ResultSetStream.closeQuietly(conn);
+        }
+    }
+
+    private static final class RangeBuffer {
+        private final BlockingQueue<List<Product>> queue = new ArrayBlockingQueue<>(QUEUED_BATCHES);
+        // Set before END_OF_RANGE is queued, so the queue hand-off publishes it
+        private SQLException failure;
+    }
+
+    // Rows are counted in batches to keep the lock off the per-row path; reports whenever the
+    // count crosses a multiple of fetchSize and whenever a range completes.
+    private final class ProgressTracker {
+        private final int rangesTotal;
+        private final Consumer<ExportProgress> listener;
+        private final long start = System.nanoTime();
+        private int rangesCompleted;
+        private long rows;
+
+        private ProgressTracker(int rangesTotal, Consumer<ExportProgress> listener) {
+            this.rangesTotal = rangesTotal;
+            this.listener = listener;
+        }
+
+        private synchronized void addRows(int count) {
+            long before = rows;
+            rows += count;
+            if (before / fetchSize != rows / fetchSize) {
+                report();
+            }
+        }
+
+        private synchronized void rangeCompleted() {
+            rangesCompleted++;
+            report();
+        }
+
+        private synchronized ExportProgress snapshot() {
+            return new ExportProgress(rangesCompleted, rangesTotal, rows, System.nanoTime() - start);
+        }
+
+        private void report() {
+            if (listener != null) {
+                listener.accept(snapshot());
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.productmanagement.dao;
+
+import java.util.Arrays;
+
+// Sorted, duplicate-free product ids stored as varint-encoded gaps. Appending an id above the
+// current maximum costs one to five bytes; ids below it are buffered and merged in a single
+// re-encode by compact(), which the owner calls once per batch of additions.
+final class PostingList {
+    private static final int[] NO_IDS = new int[0];
+
+    private byte[] bytes = new byte[4];
+    private int length;
+    private int count;
+    private int last;
+    private int[] pending = NO_IDS;
+    private int pendingCount;
+
+    void add(int id) {
+        if (count > 0 && id <= last) {
+            if (pendingCount == pending.length) {
+                pending = Arrays.copyOf(pending, Math.max(4, pendingCount * 2));
+            }
+            pending[pendingCount++] = id;
+            return;
+        }
+        append(id - last);
+        last = id;
+        count++;
+    }
+
+    boolean hasPending() {
+        return pendingCount > 0;
+    }
+
+    // Merges the buffered out-of-order ids into the encoded list.
+    void compact() {
+        if (pendingCount == 0) {
+            return;
+        }
+        int[] ids = toArray();
+        bytes = new byte[Math.max(4, length + 5 * pendingCount)];
+        length = 0;
+        count = 0;
+        last = 0;
+        pending = NO_IDS;
+        pendingCount = 0;
+        for (int id : ids) {
+            append(id - last);
+            last = id;
+            count++;
+        }
+    }
+
+    int size() {
+        return pendingCount == 0 ? count : toArray().length;
+    }
+
+    int byteSize() {
+        return bytes.length;
+    }
+
+    // Includes buffered ids without compacting, so readers never modify the list.
+    int[] toArray() {
+        int[] ids = decode();
+        if (pendingCount == 0) {
+            return ids;
+        }
+        int[] extra = Arrays.copyOf(pending, pendingCount);
+        Arrays.sort(extra);
+        int[] merged = new int[ids.length + extra.length];
+        int n = 0;
+        for (int i = 0, j = 0; i < ids.length || j < extra.length; ) {
+            int next = j == extra.length || (i < ids.length && ids[i] <= extra[j]) ? ids[i++] : extra[j++];
+            if (n == 0 || merged[n - 1] != next) {
+                merged[n++] = next;
+            }
+        }
+        return Arrays.copyOf(merged, n);
+    }
+
+    private int[] decode() {
+        int[] ids = new int[count];
+        int value = 0;
+        int pos = 0;
+        for (int i = 0; i < count; i++) {
+            int gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[pos++];
+                gap |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            value += gap;
+            ids[i] = value;
+        }
+        return ids;
+    }
+
+    // Intersects two sorted id arrays.
+    static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int n = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private void append(int gap) {
+        if (length + 5 > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + 5));
+        }
+        while ((gap & ~0x7F) != 0) {
+            bytes[length++] = (byte) ((gap & 0x7F) | 0x80);
+            gap >>>= 7;
+        }
+        bytes[length++] = (byte) gap;
+    }
+}
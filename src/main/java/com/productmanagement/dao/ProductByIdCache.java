@@ -0,0 +1,72 @@
+package com.productmanagement.dao;
+
+import com.productmanagement.DBConnection;
+import com.productmanagement.model.Product;
+import java.util.List;
+
+// Per-id product cache for batch lookups. Only found products are cached; an id that was
+// missing is looked up again next time, so a product inserted later is seen immediately.
+// Products are mutable, so the cache keeps its own copy and hands out a fresh one per hit.
+public class ProductByIdCache {
+    private static volatile ProductByIdCache shared;
+
+    private final TtlCache<Integer, Product> cache;
+
+    public ProductByIdCache(int maxEntries, long ttlMillis) {
+        this.cache = new TtlCache<>(maxEntries, ttlMillis);
+    }
+
+    public static ProductByIdCache shared() {
+        ProductByIdCache current = shared;
+        if (current != null) {
+            return current;
+        }
+        synchronized (ProductByIdCache.class) {
+            if (shared == null) {
+                DBConnection config = new DBConnection();
+                ProductByIdCache cache = new ProductByIdCache(
+                        config.getIntProperty("cache.productsById.maxEntries", 5000),
+                        config.getIntProperty("cache.productsById.ttlSeconds", 30) * 1000L);
+                CatalogChangeListener.subscribeShared(cache::onCatalogChanges);
+                shared = cache;
+            }
+            return shared;
+        }
+    }
+
+    Product getIfPresent(int id) {
+        Product cached = cache.getIfPresent(id);
+        return cached != null ? ProductCopies.copyOf(cached) : null;
+    }
+
+    long generation() {
+        return cache.generation();
+    }
+
+    void putIfCurrent(Product product, long loadGeneration) {
+        cache.putIfCurrent(product.getId(), ProductCopies.copyOf(product), loadGeneration);
+    }
+
+    public void invalidate(int id) {
+        cache.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    // Both tables carry the affected product id, so a change only evicts that product.
+    void onCatalogChanges(List<CatalogChange> changes) {
+        for (CatalogChange change : changes) {
+            if (change.isResync()) {
+                invalidateAll();
+                return;
+            }
+            invalidate(change.getProductId());
+        }
+    }
+}
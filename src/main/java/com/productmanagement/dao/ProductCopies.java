@@ -0,0 +1,36 @@
+package com.productmanagement.dao;
+
+import com.productmanagement.model.Category;
+import com.productmanagement.model.Product;
+import java.util.ArrayList;
+import java.util.List;
+
+// Products and their categories are mutable, so the caches keep their own copies and hand a
+// fresh one to every caller. Category names are already interned, so a copy only adds the
+// object headers.
+final class ProductCopies {
+    private ProductCopies() {
+    }
+
+    static Product copyOf(Product product) {
+        Product copy = new Product();
+        copy.setId(product.getId());
+        copy.setName(product.getName());
+        copy.setPrice(product.getPrice());
+        copy.setCreationDateTime(product.getCreationDateTime());
+        List<Category> categories = new ArrayList<>(product.getCategories().size());
+        for (Category category : product.getCategories()) {
+            categories.add(new Category(category.getId(), category.getName()));
+        }
+        copy.setCategories(categories);
+        return copy;
+    }
+
+    static List<Product> copyOf(List<Product> products) {
+        List<Product> copies = new ArrayList<>(products.size());
+        for (Product product : products) {
+            copies.add(copyOf(product));
+        }
+        return copies;
+    }
+}
@@ -0,0 +1,91 @@
+package com.productmanagement.dao;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Objects;
+
+public final class ProductCriteria {
+    private final String productName;
+    private final String categoryName;
+    private final Instant creationMin;
+    private final Instant creationMax;
+    private final int page;
+    private final int size;
+
+    private ProductCriteria(String productName, String categoryName, Instant creationMin,
+                            Instant creationMax, int page, int size) {
+        this.productName = productName;
+        this.categoryName = categoryName;
+        this.creationMin = creationMin;
+        this.creationMax = creationMax;
+        this.page = page;
+        this.size = size;
+    }
+
+    public static ProductCriteria of(String productName, String categoryName,
+                                     Instant creationMin, Instant creationMax, int page, int size) {
+        boolean paginated = page > 0 && size > 0;
+        return new ProductCriteria(normalize(productName), normalize(categoryName),
+                creationMin, creationMax, paginated ? page : 0, paginated ? size : 0);
+    }
+
+    // ILIKE is case-insensitive, so filters differing only in case or padding select the same rows.
+    private static String normalize(String filter) {
+        if (filter == null || filter.trim().isEmpty()) {
+            return null;
+        }
+        return filter.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public Instant getCreationMin() {
+        return creationMin;
+    }
+
+    public Instant getCreationMax() {
+        return creationMax;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ProductCriteria)) {
+            return false;
+        }
+        ProductCriteria that = (ProductCriteria) o;
+        return page == that.page && size == that.size &&
+                Objects.equals(productName, that.productName) &&
+                Objects.equals(categoryName, that.categoryName) &&
+                Objects.equals(creationMin, that.creationMin) &&
+                Objects.equals(creationMax, that.creationMax);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(productName, categoryName, creationMin, creationMax, page, size);
+    }
+
+    @Override
+    public String toString() {
+        return "ProductCriteria{productName='" + productName + "', categoryName='" + categoryName +
+                "', creationMin=" + creationMin + ", creationMax=" + creationMax +
+                ", page=" + page + ", size=" + size + "}";
+    }
+}
@@ -0,0 +1,54 @@
+package com.productmanagement.dao;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class ProductFacets {
+    private long totalCount;
+    private boolean estimated;
+    private final Map<String, Long> categoryCounts = new LinkedHashMap<>();
+    private final Map<Double, Long> priceHistogram = new TreeMap<>();
+    private final Map<Instant, Long> creationHistogram = new TreeMap<>();
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    void setTotalCount(long totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    public boolean isEstimated() {
+        return estimated;
+    }
+
+    void setEstimated(boolean estimated) {
+        this.estimated = estimated;
+    }
+
+    // Category name to number of matching products, most frequent first.
+    public Map<String, Long> getCategoryCounts() {
+        return categoryCounts;
+    }
+
+    // Lower bound of each price bucket to number of matching products.
+    public Map<Double, Long> getPriceHistogram() {
+        return priceHistogram;
+    }
+
+    // Start of each creation period to number of matching products.
+    public Map<Instant, Long> getCreationHistogram() {
+        return creationHistogram;
+    }
+
+    @Override
+    public String toString() {
+        return "ProductFacets{total=" + totalCount +
+                (estimated ? " (estimated)" : "") +
+                ", categories=" + categoryCounts +
+                ", prices=" + priceHistogram +
+                ", created=" + creationHistogram + "}";
+    }
+}
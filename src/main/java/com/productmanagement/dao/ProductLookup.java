@@ -0,0 +1,28 @@
+package com.productmanagement.dao;
+
+import com.productmanagement.model.Product;
+import java.util.List;
+
+public class ProductLookup {
+    private final List<Product> products;
+    private final List<Integer> missingIds;
+
+    public ProductLookup(List<Product> products, List<Integer> missingIds) {
+        this.products = products;
+        this.missingIds = missingIds;
+    }
+
+    // Found products in the order their ids were first requested; duplicate ids appear once.
+    public List<Product> getProducts() {
+        return products;
+    }
+
+    // Requested ids with no product, in request order.
+    public List<Integer> getMissingIds() {
+        return missingIds;
+    }
+
+    public boolean hasMissing() {
+        return !missingIds.isEmpty();
+    }
+}
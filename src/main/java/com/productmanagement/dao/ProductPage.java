@@ -0,0 +1,26 @@
+package com.productmanagement.dao;
+
+import com.productmanagement.model.Product;
+import java.util.List;
+
+public class ProductPage {
+    private final List<Product> products;
+    private final String nextCursor;
+
+    public ProductPage(List<Product> products, String nextCursor) {
+        this.products = products;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Product> getProducts() {
+        return products;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,97 @@
+package com.productmanagement.dao;
+
+import com.productmanagement.DBConnection;
+import com.productmanagement.model.Product;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+// Entries hold the cache's own copies of the loaded products; every caller, coalesced
+// waiters included, gets a fresh copy it is free to modify.
+public class ProductQueryCache {
+    private static volatile ProductQueryCache shared;
+
+    private final TtlCache<ProductCriteria, List<Product>> cache;
+    private final ConcurrentHashMap<ProductCriteria, CompletableFuture<List<Product>>> inFlight =
+            new ConcurrentHashMap<>();
+    private final LongAdder coalescedLoads = new LongAdder();
+
+    public ProductQueryCache(int maxEntries, long ttlMillis) {
+        this.cache = new TtlCache<>(maxEntries, ttlMillis);
+    }
+
+    public static ProductQueryCache shared() {
+        ProductQueryCache current = shared;
+        if (current != null) {
+            return current;
+        }
+        synchronized (ProductQueryCache.class) {
+            if (shared == null) {
+                DBConnection config = new DBConnection();
+                ProductQueryCache cache = new ProductQueryCache(
+                        config.getIntProperty("cache.products.maxEntries", 1000),
+                        config.getIntProperty("cache.products.ttlSeconds", 30) * 1000L);
+                CatalogChangeListener.subscribeShared(changes -> cache.invalidateAll());
+                shared = cache;
+            }
+            return shared;
+        }
+    }
+
+    List<Product> get(ProductCriteria criteria, TtlCache.Loader<List<Product>> loader) throws SQLException {
+        List<Product> cached = cache.getIfPresent(criteria);
+        if (cached != null) {
+            return ProductCopies.copyOf(cached);
+        }
+
+        CompletableFuture<List<Product>> load = new CompletableFuture<>();
+        CompletableFuture<List<Product>> running = inFlight.putIfAbsent(criteria, load);
+        if (running != null) {
+            coalescedLoads.increment();
+            return ProductCopies.copyOf(await(running));
+        }
+
+        try {
+            long loadGeneration = cache.generation();
+            List<Product> loaded = cache.timedLoad(loader);
+            List<Product> entry = List.copyOf(ProductCopies.copyOf(loaded));
+            cache.putIfCurrent(criteria, entry, loadGeneration);
+            load.complete(entry);
+            return loaded;
+        } catch (SQLException | RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(criteria, load);
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    public long getCoalescedLoadCount() {
+        return coalescedLoads.sum();
+    }
+
+    private List<Product> await(CompletableFuture<List<Product>> running) throws SQLException {
+        try {
+            return running.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a shared product query", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new SQLException("Shared product query failed", e.getCause());
+        }
+    }
+}
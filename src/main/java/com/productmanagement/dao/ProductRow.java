@@ -0,0 +1,161 @@
+package com.productmanagement.dao;
+
+import com.productmanagement.model.Category;
+import com.productmanagement.model.Product;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+
+// A reusable view of the current row of a product query. Column indexes are resolved once per
+// ResultSet and every getter reads the row directly, so a caller only pays for the columns it
+// asks for; toProduct materializes the row when it has to outlive the cursor.
+public final class ProductRow {
+    // Creation time as microseconds since the epoch, selected instead of creation_datetime so
+    // it is read as a long rather than through a Timestamp
+    static final String CREATION_EPOCH_COLUMN = "creation_epoch_us";
+    public static final long NO_CREATION_TIME = Long.MIN_VALUE;
+
+    private final ResultSet rs;
+    private final CategoryInterner categoryInterner;
+    private final int idColumn;
+    private final int nameColumn;
+    private final int priceColumn;
+    private final int creationColumn;
+    private final boolean creationAsEpoch;
+    private final int categoryIdsColumn;
+    private final int categoryNamesColumn;
+    // Category arrays of the row numbered categoriesRow, decoded on first use
+    private int categoriesRow = -1;
+    private Integer[] categoryIds;
+    private String[] categoryNames;
+
+    ProductRow(ResultSet rs, CategoryInterner categoryInterner) throws SQLException {
+        this.rs = rs;
+        this.categoryInterner = categoryInterner;
+        ResultSetMetaData metaData = rs.getMetaData();
+        int id = 0;
+        int name = 0;
+        int price = 0;
+        int creation = 0;
+        int creationEpoch = 0;
+        int ids = 0;
+        int names = 0;
+        for (int column = 1; column <= metaData.getColumnCount(); column++) {
+            switch (metaData.getColumnLabel(column)) {
+                case "id" -> id = column;
+                case "name" -> name = column;
+                case "price" -> price = column;
+                case "creation_datetime" -> creation = column;
+                case CREATION_EPOCH_COLUMN -> creationEpoch = column;
+                case "category_ids" -> ids = column;
+                case "category_names" -> names = column;
+                default -> { }
+            }
+        }
+        if (id == 0 || name == 0 || price == 0 || (creation == 0 && creationEpoch == 0)) {
+            throw new SQLException("Not a product result set: id, name, price and creation time are required");
+        }
+        this.idColumn = id;
+        this.nameColumn = name;
+        this.priceColumn = price;
+        this.creationAsEpoch = creationEpoch != 0;
+        this.creationColumn = creationAsEpoch ? creationEpoch : creation;
+        this.categoryIdsColumn = ids;
+        this.categoryNamesColumn = names;
+    }
+
+    public int getId() throws SQLException {
+        return rs.getInt(idColumn);
+    }
+
+    public String getName() throws SQLException {
+        return rs.getString(nameColumn);
+    }
+
+    public double getPrice() throws SQLException {
+        return rs.getDouble(priceColumn);
+    }
+
+    // NO_CREATION_TIME when creation_datetime is NULL.
+    public long getCreationEpochMicros() throws SQLException {
+        if (creationAsEpoch) {
+            long micros = rs.getLong(creationColumn);
+            return rs.wasNull() ? NO_CREATION_TIME : micros;
+        }
+        Timestamp timestamp = rs.getTimestamp(creationColumn);
+        if (timestamp == null) {
+            return NO_CREATION_TIME;
+        }
+        return Math.floorDiv(timestamp.getTime(), 1000L) * 1_000_000L + timestamp.getNanos() / 1000;
+    }
+
+    public Instant getCreationDateTime() throws SQLException {
+        long micros = getCreationEpochMicros();
+        if (micros == NO_CREATION_TIME) {
+            return null;
+        }
+        return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1000);
+    }
+
+    public int getCategoryCount() throws SQLException {
+        loadCategories();
+        return categoryIds != null ? categoryIds.length : 0;
+    }
+
+    public int getCategoryId(int index) throws SQLException {
+        loadCategories();
+        return categoryIds[index];
+    }
+
+    public String getCategoryName(int index) throws SQLException {
+        loadCategories();
+        return categoryNames[index];
+    }
+
+    // A fresh Category whose name is shared with every other row naming the same category.
+    public Category getCategory(int index) throws SQLException {
+        loadCategories();
+        return categoryInterner.newCategory(categoryIds[index], categoryNames[index]);
+    }
+
+    public Product toProduct() throws SQLException {
+        Product product = new Product();
+        product.setId(getId());
+        product.setName(getName());
+        product.setPrice(getPrice());
+        product.setCreationDateTime(getCreationDateTime());
+
+        int count = getCategoryCount();
+        if (count > 0) {
+            Category[] categories = new Category[count];
+            for (int i = 0; i < count; i++) {
+                categories[i] = getCategory(i);
+            }
+            product.setCategories(Arrays.asList(categories));
+        }
+        return product;
+    }
+
+    // The cursor moves underneath this view, so the decoded arrays are keyed by row number.
+    private void loadCategories() throws SQLException {
+        int row = rs.getRow();
+        if (row == categoriesRow) {
+            return;
+        }
+        categoryIds = null;
+        categoryNames = null;
+        if (categoryIdsColumn != 0 && categoryNamesColumn != 0) {
+            Array ids = rs.getArray(categoryIdsColumn);
+            Array names = rs.getArray(categoryNamesColumn);
+            if (ids != null && names != null) {
+                categoryIds = (Integer[]) ids.getArray();
+                categoryNames = (String[]) names.getArray();
+            }
+        }
+        categoriesRow = row;
+    }
+}
@@ -0,0 +1,9 @@
+package com.productmanagement.dao;
+
+import java.sql.SQLException;
+
+// Receives each row as the same ProductRow instance, which is only valid during the call.
+@FunctionalInterface
+public interface ProductRowVisitor {
+    void visit(ProductRow row) throws SQLException;
+}
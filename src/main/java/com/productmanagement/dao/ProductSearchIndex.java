@@ -0,0 +1,328 @@
+package com.productmanagement.dao;
+
+import com.productmanagement.DBConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Trigram inverted index over product and category names. A term of three or more characters
+// resolves to the products whose names contain all of its trigrams, a superset of the indexed
+// matches; callers keep the ILIKE predicates so the database rechecks the candidates. Products
+// and category rows are indexed incrementally by id high-water mark, and search() reports the
+// marks so callers also let through every row above them. Rows committed out of id order and
+// renames are only picked up by rebuild(), which onCatalogChanges triggers; without the change
+// feed the index is not a superset and must not be used for queries. Removed rows just leave
+// candidates the recheck discards.
+public class ProductSearchIndex implements AutoCloseable {
+    private static final int GRAM = 3;
+    private static volatile ProductSearchIndex shared;
+
+    private final DBConnection dbConnection;
+    private final int maxCandidates;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object refreshLock = new Object();
+    private Map<Long, PostingList> productGrams = new HashMap<>();
+    private Map<Long, PostingList> categoryGrams = new HashMap<>();
+    private int maxProductId;
+    private int maxCategoryRowId;
+    private volatile boolean loaded;
+    private final AtomicBoolean syncQueued = new AtomicBoolean();
+    private volatile boolean rebuildNeeded;
+    private ScheduledExecutorService refresher;
+
+    public ProductSearchIndex(int maxCandidates) {
+        if (maxCandidates <= 0) {
+            throw new IllegalArgumentException("Candidate limit must be positive: " + maxCandidates);
+        }
+        this.dbConnection = new DBConnection();
+        this.maxCandidates = maxCandidates;
+    }
+
+    public static ProductSearchIndex shared() {
+        ProductSearchIndex current = shared;
+        if (current != null) {
+            return current;
+        }
+        synchronized (ProductSearchIndex.class) {
+            if (shared == null) {
+                DBConnection config = new DBConnection();
+                ProductSearchIndex index = new ProductSearchIndex(
+                        config.getIntProperty("searchIndex.maxCandidates", 10000));
+                index.scheduleRefresh(config.getIntProperty("searchIndex.refreshSeconds", 30) * 1000L);
+                CatalogChangeListener.subscribeShared(index::onCatalogChanges);
+                shared = index;
+            }
+            return shared;
+        }
+    }
+
+    // Sorted candidate ids for the given filters, or null when neither term is long enough to
+    // use the index or the candidate set is too large to beat a plain scan.
+    public int[] candidates(String productName, String categoryName) throws SQLException {
+        Candidates candidates = search(productName, categoryName);
+        return candidates != null ? candidates.ids : null;
+    }
+
+    // The candidates with the high-water marks they were indexed through, read atomically.
+    Candidates search(String productName, String categoryName) throws SQLException {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            int[] byName = lookup(productGrams, productName);
+            int[] byCategory = lookup(categoryGrams, categoryName);
+            int[] result = byName == null ? byCategory
+                    : byCategory == null ? byName : PostingList.intersect(byName, byCategory);
+            return result != null && result.length <= maxCandidates
+                    ? new Candidates(result, maxProductId, maxCategoryRowId) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void refresh() throws SQLException {
+        synchronized (refreshLock) {
+            if (!loaded) {
+                rebuild();
+                return;
+            }
+            load(false);
+        }
+    }
+
+    public void rebuild() throws SQLException {
+        synchronized (refreshLock) {
+            load(true);
+            loaded = true;
+        }
+    }
+
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (Map<Long, PostingList> grams : List.of(productGrams, categoryGrams)) {
+                for (PostingList postings : grams.values()) {
+                    bytes += 64 + postings.byteSize();
+                }
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (refreshLock) {
+            if (refresher != null) {
+                refresher.shutdownNow();
+                refresher = null;
+            }
+        }
+    }
+
+    void scheduleRefresh(long periodMillis) {
+        if (periodMillis <= 0) {
+            return;
+        }
+        refresher().scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (SQLException e) {
+                System.err.println("Error refreshing product search index: " + e.getMessage());
+            }
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Inserts above the product high-water mark are picked up by a refresh and deletes only
+    // leave candidates the recheck drops. Updates (possible renames), resyncs and inserts at or
+    // below the mark (a late commit, or a category added to an indexed product) need a rebuild.
+    void onCatalogChanges(List<CatalogChange> changes) {
+        if (!loaded) {
+            return;
+        }
+        int indexedProductId;
+        lock.readLock().lock();
+        try {
+            indexedProductId = maxProductId;
+        } finally {
+            lock.readLock().unlock();
+        }
+        for (CatalogChange change : changes) {
+            if (change.isResync() || change.getOperation() == CatalogChange.Operation.UPDATE
+                    || (change.getOperation() == CatalogChange.Operation.INSERT
+                    && change.getProductId() <= indexedProductId)) {
+                rebuildNeeded = true;
+                break;
+            }
+        }
+        if (syncQueued.compareAndSet(false, true)) {
+            refresher().execute(() -> {
+                syncQueued.set(false);
+                boolean rebuild = rebuildNeeded;
+                rebuildNeeded = false;
+                try {
+                    if (rebuild) {
+                        rebuild();
+                    } else {
+                        refresh();
+                    }
+                } catch (SQLException e) {
+                    rebuildNeeded = true;
+                    System.err.println("Error syncing product search index: " + e.getMessage());
+                }
+            });
+        }
+    }
+
+    private ScheduledExecutorService refresher() {
+        synchronized (refreshLock) {
+            if (refresher == null) {
+                refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread thread = new Thread(r, "product-search-index-refresher");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            return refresher;
+        }
+    }
+
+    private void ensureLoaded() throws SQLException {
+        if (loaded) {
+            return;
+        }
+        synchronized (refreshLock) {
+            if (!loaded) {
+                rebuild();
+            }
+        }
+    }
+
+    // A rebuild indexes into fresh maps and swaps them in; a refresh adds to the live ones.
+    private void load(boolean full) throws SQLException {
+        Map<Long, PostingList> products = full ? new HashMap<>() : productGrams;
+        Map<Long, PostingList> categories = full ? new HashMap<>() : categoryGrams;
+        int afterProductId = full ? 0 : maxProductId;
+        int afterCategoryRowId = full ? 0 : maxCategoryRowId;
+        int newMaxProductId = afterProductId;
+        int newMaxCategoryRowId = afterCategoryRowId;
+        Set<PostingList> unsorted = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        try (Connection conn = dbConnection.getDBConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "SELECT id, name FROM product WHERE id > ? ORDER BY id")) {
+                pstmt.setFetchSize(10000);
+                pstmt.setInt(1, afterProductId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        newMaxProductId = rs.getInt(1);
+                        index(products, newMaxProductId, rs.getString(2), full, unsorted);
+                    }
+                }
+            }
+            // Categories of the products just loaded are read whatever their row id, in case a
+            // category row committed after a higher one. Ordered by product so most postings
+            // are appended rather than buffered.
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "SELECT id, product_id, name FROM product_category WHERE id > ? OR product_id > ? " +
+                            "ORDER BY product_id, id")) {
+                pstmt.setFetchSize(10000);
+                pstmt.setInt(1, afterCategoryRowId);
+                pstmt.setInt(2, afterProductId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        newMaxCategoryRowId = Math.max(newMaxCategoryRowId, rs.getInt(1));
+                        index(categories, rs.getInt(2), rs.getString(3), full, unsorted);
+                    }
+                }
+            }
+            conn.commit();
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (PostingList postings : unsorted) {
+                postings.compact();
+            }
+            productGrams = products;
+            categoryGrams = categories;
+            maxProductId = newMaxProductId;
+            maxCategoryRowId = newMaxCategoryRowId;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(Map<Long, PostingList> grams, int productId, String text, boolean exclusive,
+                       Set<PostingList> unsorted) {
+        String value = text.toLowerCase(Locale.ROOT);
+        if (!exclusive) {
+            lock.writeLock().lock();
+        }
+        try {
+            for (int i = 0; i + GRAM <= value.length(); i++) {
+                PostingList postings = grams.computeIfAbsent(gram(value, i), key -> new PostingList());
+                postings.add(productId);
+                if (postings.hasPending()) {
+                    unsorted.add(postings);
+                }
+            }
+        } finally {
+            if (!exclusive) {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private static int[] lookup(Map<Long, PostingList> grams, String term) {
+        // LIKE wildcards inside the term cannot be answered from literal trigrams.
+        if (term == null || term.trim().length() < GRAM || term.contains("%") || term.contains("_")
+                || term.contains("\\")) {
+            return null;
+        }
+        String value = term.trim().toLowerCase(Locale.ROOT);
+        int[] result = null;
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            PostingList postings = grams.get(gram(value, i));
+            if (postings == null) {
+                return new int[0];
+            }
+            result = result == null ? postings.toArray() : PostingList.intersect(result, postings.toArray());
+            if (result.length == 0) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    static final class Candidates {
+        final int[] ids;
+        final int indexedProductId;
+        final int indexedCategoryRowId;
+
+        private Candidates(int[] ids, int indexedProductId, int indexedCategoryRowId) {
+            this.ids = ids;
+            this.indexedProductId = indexedProductId;
+            this.indexedCategoryRowId = indexedCategoryRowId;
+        }
+    }
+
+    private static long gram(String value, int start) {
+        return ((long) value.charAt(start) << 32) | ((long) value.charAt(start + 1) << 16) | value.charAt(start + 2);
+    }
+}
@@ -0,0 +1,485 @@
+package com.productmanagement.dao;
+
+import com.productmanagement.DBConnection;
+import com.productmanagement.model.Category;
+import com.productmanagement.model.Product;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// In-memory copy of the catalog held in primitive columns: one int/double/long slot per product,
+// UTF-8 name bytes in a single array and categories as dictionary codes. Product objects are only
+// built for the rows a query returns. Readers see an immutable Columns view; refresh appends
+// products with ids above the highest loaded one, and reload rebuilds everything, which is
+// needed to pick up updates, deletes and categories added to already loaded products.
+public class ProductSnapshot implements AutoCloseable {
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+    private static final String PRODUCTS_SQL =
+            "SELECT id, name, price, creation_datetime FROM product WHERE id > ? ORDER BY id";
+    private static final String CATEGORIES_SQL =
+            "SELECT product_id, id, name FROM product_category WHERE product_id > ? ORDER BY product_id, id";
+    private static volatile ProductSnapshot shared;
+
+    private final DBConnection dbConnection;
+    private final int fetchSize;
+    private final CategoryInterner categoryInterner = CategoryInterner.shared();
+    private final Object refreshLock = new Object();
+    private final AtomicBoolean syncQueued = new AtomicBoolean();
+    private volatile boolean reloadNeeded;
+    private ScheduledExecutorService refresher;
+    private Appender appender;
+    private volatile Columns columns;
+
+    public ProductSnapshot(int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("Fetch size must be positive: " + fetchSize);
+        }
+        this.dbConnection = new DBConnection();
+        this.fetchSize = fetchSize;
+    }
+
+    public static ProductSnapshot shared() {
+        ProductSnapshot current = shared;
+        if (current != null) {
+            return current;
+        }
+        synchronized (ProductSnapshot.class) {
+            if (shared == null) {
+                DBConnection config = new DBConnection();
+                ProductSnapshot snapshot = new ProductSnapshot(config.getIntProperty("snapshot.fetchSize", 10000));
+                snapshot.scheduleRefresh(config.getIntProperty("snapshot.refreshSeconds", 30) * 1000L);
+                CatalogChangeListener.subscribeShared(snapshot::onCatalogChanges);
+                shared = snapshot;
+            }
+            return shared;
+        }
+    }
+
+    public List<Product> getProductList(int page, int size) throws SQLException {
+        Columns c = loaded();
+        List<Product> products = new ArrayList<>();
+        long from = (long) (page - 1) * size;
+        if (from < 0 || size <= 0) {
+            return products;
+        }
+        for (long row = from; row < Math.min(c.size, from + size); row++) {
+            products.add(materialize(c, (int) row));
+        }
+        return products;
+    }
+
+    // Null when a term contains LIKE wildcards or escapes: the database matches those as
+    // patterns, while the snapshot only does literal substring matching.
+    public List<Product> getProductsByCriteria(String productName, String categoryName,
+                                               Instant creationMin, Instant creationMax,
+                                               int page, int size) throws SQLException {
+        if (hasLikeMetacharacters(productName) || hasLikeMetacharacters(categoryName)) {
+            return null;
+        }
+        Columns c = loaded();
+        boolean usePagination = page > 0 && size > 0;
+        long skip = usePagination ? (long) (page - 1) * size : 0;
+        int limit = usePagination ? size : Integer.MAX_VALUE;
+
+        String nameTerm = term(productName);
+        byte[] asciiNameTerm = nameTerm != null ? asciiBytes(nameTerm) : null;
+        boolean[] categoryMatches = matchingCategories(c, term(categoryName));
+        long min = creationMin != null ? toMicros(creationMin) : NO_TIMESTAMP;
+        long max = creationMax != null ? toMicros(creationMax) : NO_TIMESTAMP;
+
+        List<Product> products = new ArrayList<>();
+        for (int row = 0; row < c.size && products.size() < limit; row++) {
+            if (creationMin != null && (c.created[row] == NO_TIMESTAMP || c.created[row] < min)) {
+                continue;
+            }
+            if (creationMax != null && (c.created[row] == NO_TIMESTAMP || c.created[row] > max)) {
+                continue;
+            }
+            if (categoryMatches != null && !hasCategory(c, row, categoryMatches)) {
+                continue;
+            }
+            if (nameTerm != null && !nameContains(c, row, nameTerm, asciiNameTerm)) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            products.add(materialize(c, row));
+        }
+        return products;
+    }
+
+    public void refresh() throws SQLException {
+        synchronized (refreshLock) {
+            if (appender == null) {
+                reload();
+                return;
+            }
+            try {
+                load(appender, appender.maxId());
+            } catch (SQLException e) {
+                // The appender may hold a partly loaded tail; start over on the next refresh.
+                appender = null;
+                throw e;
+            }
+        }
+    }
+
+    public void reload() throws SQLException {
+        synchronized (refreshLock) {
+            Appender fresh = new Appender(Math.max(1024, columns != null ? columns.size : 0));
+            load(fresh, 0);
+            appender = fresh;
+        }
+    }
+
+    public int size() throws SQLException {
+        return loaded().size;
+    }
+
+    public long estimatedBytes() throws SQLException {
+        Columns c = loaded();
+        long bytes = 4L * c.ids.length + 8L * c.prices.length + 8L * c.created.length +
+                4L * c.nameOffsets.length + c.nameBytes.length +
+                4L * c.categoryOffsets.length + 4L * c.categoryRowIds.length + 4L * c.categoryCodes.length;
+        for (int code = 0; code < c.dictionarySize; code++) {
+            bytes += 40 + 2L * c.dictionary[code].length();
+        }
+        return bytes;
+    }
+
+    @Override
+    public void close() {
+        synchronized (refreshLock) {
+            if (refresher != null) {
+                refresher.shutdownNow();
+                refresher = null;
+            }
+        }
+    }
+
+    void scheduleRefresh(long periodMillis) {
+        if (periodMillis <= 0) {
+            return;
+        }
+        refresher().scheduleWithFixedDelay(() -> {
+            try {
+                if (columns != null) {
+                    refresh();
+                }
+            } catch (SQLException e) {
+                System.err.println("Error refreshing product snapshot: " + e.getMessage());
+            }
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // New products (and their categories) can be appended; anything touching an already
+    // loaded product needs a reload. The work runs on the refresher thread, and changes that
+    // arrive while a sync is queued are folded into it.
+    void onCatalogChanges(List<CatalogChange> changes) {
+        Columns c = columns;
+        if (c == null) {
+            return;
+        }
+        int maxId = c.size > 0 ? c.ids[c.size - 1] : 0;
+        for (CatalogChange change : changes) {
+            if (change.getOperation() != CatalogChange.Operation.INSERT || change.getProductId() <= maxId) {
+                reloadNeeded = true;
+                break;
+            }
+        }
+        if (syncQueued.compareAndSet(false, true)) {
+            refresher().execute(() -> {
+                syncQueued.set(false);
+                boolean reload = reloadNeeded;
+                reloadNeeded = false;
+                try {
+                    if (reload) {
+                        reload();
+                    } else {
+                        refresh();
+                    }
+                } catch (SQLException e) {
+                    reloadNeeded = true;
+                    System.err.println("Error syncing product snapshot: " + e.getMessage());
+                }
+            });
+        }
+    }
+
+    private ScheduledExecutorService refresher() {
+        synchronized (refreshLock) {
+            if (refresher == null) {
+                refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread thread = new Thread(r, "product-snapshot-refresher");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            return refresher;
+        }
+    }
+
+    private Columns loaded() throws SQLException {
+        Columns current = columns;
+        if (current != null) {
+            return current;
+        }
+        synchronized (refreshLock) {
+            if (columns == null) {
+                reload();
+            }
+            return columns;
+        }
+    }
+
+    // Both cursors run in one repeatable-read transaction so products and categories agree.
+    private void load(Appender target, int afterId) throws SQLException {
+        try (Connection conn = dbConnection.getDBConnection()) {
+            conn.setAutoCommit(false);
+            conn.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            conn.setReadOnly(true);
+            try (PreparedStatement products = conn.prepareStatement(PRODUCTS_SQL);
+                 PreparedStatement categories = conn.prepareStatement(CATEGORIES_SQL)) {
+                products.setFetchSize(fetchSize);
+                categories.setFetchSize(fetchSize);
+                products.setInt(1, afterId);
+                categories.setInt(1, afterId);
+
+                try (ResultSet prs = products.executeQuery();
+                     ResultSet crs = categories.executeQuery()) {
+                    boolean hasCategory = crs.next();
+                    while (prs.next()) {
+                        int id = prs.getInt(1);
+                        Timestamp timestamp = prs.getTimestamp(4);
+                        target.addProduct(id, prs.getString(2), prs.getDouble(3),
+                                timestamp != null ? toMicros(timestamp.toInstant()) : NO_TIMESTAMP);
+                        while (hasCategory && crs.getInt(1) <= id) {
+                            if (crs.getInt(1) == id) {
+                                target.addCategory(crs.getInt(2), crs.getString(3));
+                            }
+                            hasCategory = crs.next();
+                        }
+                    }
+                }
+            }
+            conn.commit();
+        }
+        columns = target.view();
+    }
+
+    private Product materialize(Columns c, int row) {
+        Product product = new Product();
+        product.setId(c.ids[row]);
+        product.setName(new String(c.nameBytes, c.nameOffsets[row],
+                c.nameOffsets[row + 1] - c.nameOffsets[row], StandardCharsets.UTF_8));
+        product.setPrice(c.prices[row]);
+        if (c.created[row] != NO_TIMESTAMP) {
+            product.setCreationDateTime(Instant.EPOCH.plus(c.created[row], ChronoUnit.MICROS));
+        }
+
+        int from = c.categoryOffsets[row];
+        int to = c.categoryOffsets[row + 1];
+        if (to > from) {
+            Category[] categories = new Category[to - from];
+            for (int i = from; i < to; i++) {
+                categories[i - from] = categoryInterner.newCategory(c.categoryRowIds[i],
+                        c.dictionary[c.categoryCodes[i]]);
+            }
+            product.setCategories(Arrays.asList(categories));
+        }
+        return product;
+    }
+
+    private static boolean hasLikeMetacharacters(String value) {
+        return value != null && (value.contains("%") || value.contains("_") || value.contains("\\"));
+    }
+
+    private static String term(String value) {
+        return value != null && !value.trim().isEmpty() ? value.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    private static boolean[] matchingCategories(Columns c, String categoryTerm) {
+        if (categoryTerm == null) {
+            return null;
+        }
+        boolean[] matches = new boolean[c.dictionarySize];
+        for (int code = 0; code < c.dictionarySize; code++) {
+            matches[code] = c.dictionary[code].toLowerCase(Locale.ROOT).contains(categoryTerm);
+        }
+        return matches;
+    }
+
+    private static boolean hasCategory(Columns c, int row, boolean[] categoryMatches) {
+        for (int i = c.categoryOffsets[row]; i < c.categoryOffsets[row + 1]; i++) {
+            if (categoryMatches[c.categoryCodes[i]]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ASCII terms are matched on the UTF-8 bytes directly; multi-byte sequences never contain
+    // ASCII bytes, so no name has to be decoded. Other terms fall back to decoding the name.
+    private static boolean nameContains(Columns c, int row, String term, byte[] asciiTerm) {
+        int from = c.nameOffsets[row];
+        int to = c.nameOffsets[row + 1];
+        if (asciiTerm == null) {
+            return new String(c.nameBytes, from, to - from, StandardCharsets.UTF_8)
+                    .toLowerCase(Locale.ROOT).contains(term);
+        }
+        outer:
+        for (int start = from; start <= to - asciiTerm.length; start++) {
+            for (int i = 0; i < asciiTerm.length; i++) {
+                byte b = c.nameBytes[start + i];
+                if (b >= 'A' && b <= 'Z') {
+                    b += 'a' - 'A';
+                }
+                if (b != asciiTerm[i]) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static byte[] asciiBytes(String term) {
+        for (int i = 0; i < term.length(); i++) {
+            if (term.charAt(i) >= 0x80) {
+                return null;
+            }
+        }
+        return term.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static long toMicros(Instant instant) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+
+    // Immutable view over the appender's arrays; rows below size are never written again.
+    private static final class Columns {
+        private final int size;
+        private final int[] ids;
+        private final double[] prices;
+        private final long[] created;
+        private final int[] nameOffsets;
+        private final byte[] nameBytes;
+        private final int[] categoryOffsets;
+        private final int[] categoryRowIds;
+        private final int[] categoryCodes;
+        private final String[] dictionary;
+        private final int dictionarySize;
+
+        private Columns(Appender a) {
+            this.size = a.size;
+            this.ids = a.ids;
+            this.prices = a.prices;
+            this.created = a.created;
+            this.nameOffsets = a.nameOffsets;
+            this.nameBytes = a.nameBytes;
+            this.categoryOffsets = a.categoryOffsets;
+            this.categoryRowIds = a.categoryRowIds;
+            this.categoryCodes = a.categoryCodes;
+            this.dictionary = a.dictionary;
+            this.dictionarySize = a.dictionarySize;
+        }
+    }
+
+    private static final class Appender {
+        private int size;
+        private int[] ids;
+        private double[] prices;
+        private long[] created;
+        private int[] nameOffsets;
+        private byte[] nameBytes;
+        private int nameLength;
+        private int[] categoryOffsets;
+        private int[] categoryRowIds;
+        private int[] categoryCodes;
+        private int categoryCount;
+        private String[] dictionary = new String[64];
+        private int dictionarySize;
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        private Appender(int capacity) {
+            ids = new int[capacity];
+            prices = new double[capacity];
+            created = new long[capacity];
+            nameOffsets = new int[capacity + 1];
+            nameBytes = new byte[capacity * 16];
+            categoryOffsets = new int[capacity + 1];
+            categoryRowIds = new int[capacity];
+            categoryCodes = new int[capacity];
+        }
+
+        private int maxId() {
+            return size > 0 ? ids[size - 1] : 0;
+        }
+
+        private void addProduct(int id, String name, double price, long createdMicros) {
+            if (size == ids.length) {
+                int capacity = ids.length * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                created = Arrays.copyOf(created, capacity);
+                nameOffsets = Arrays.copyOf(nameOffsets, capacity + 1);
+                categoryOffsets = Arrays.copyOf(categoryOffsets, capacity + 1);
+            }
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            if (nameLength + bytes.length > nameBytes.length) {
+                nameBytes = Arrays.copyOf(nameBytes, Math.max(nameBytes.length * 2, nameLength + bytes.length));
+            }
+            System.arraycopy(bytes, 0, nameBytes, nameLength, bytes.length);
+            nameLength += bytes.length;
+
+            ids[size] = id;
+            prices[size] = price;
+            created[size] = createdMicros;
+            size++;
+            nameOffsets[size] = nameLength;
+            categoryOffsets[size] = categoryCount;
+        }
+
+        // Attaches a category to the product added last.
+        private void addCategory(int rowId, String name) {
+            if (categoryCount == categoryRowIds.length) {
+                categoryRowIds = Arrays.copyOf(categoryRowIds, categoryCount * 2);
+                categoryCodes = Arrays.copyOf(categoryCodes, categoryCount * 2);
+            }
+            Integer code = codes.get(name);
+            if (code == null) {
+                if (dictionarySize == dictionary.length) {
+                    dictionary = Arrays.copyOf(dictionary, dictionarySize * 2);
+                }
+                code = dictionarySize;
+                dictionary[dictionarySize++] = name;
+                codes.put(name, code);
+            }
+            categoryRowIds[categoryCount] = rowId;
+            categoryCodes[categoryCount] = code;
+            categoryCount++;
+            categoryOffsets[size] = categoryCount;
+        }
+
+        private Columns view() {
+            return new Columns(this);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.productmanagement.dao;
+
+import com.productmanagement.DBConnection;
+import com.productmanagement.model.Category;
+import com.productmanagement.model.Product;
+import java.sql.*;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductWriter {
+    private static final String INSERT_PRODUCT =
+            "INSERT INTO product (name, price, creation_datetime) VALUES (?, ?, COALESCE(?, current_timestamp))";
+    private static final String INSERT_CATEGORY =
+            "INSERT INTO product_category (name, product_id) VALUES (?, ?)";
+
+    private final DBConnection dbConnection;
+    private final int batchSize;
+
+    public ProductWriter() {
+        this.dbConnection = new DBConnection();
+        this.batchSize = dbConnection.getIntProperty("writer.batchSize", 500);
+    }
+
+    public ProductWriter(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        this.dbConnection = new DBConnection();
+        this.batchSize = batchSize;
+    }
+
+    public int insertProducts(List<Product> products) throws SQLException {
+        int inserted = 0;
+        try {
+            for (int from = 0; from < products.size(); from += batchSize) {
+                List<Product> batch = products.subList(from, Math.min(from + batchSize, products.size()));
+                inserted += insertProductBatch(batch);
+            }
+        } finally {
+            if (inserted > 0) {
+                invalidateCaches(products.stream().map(Product::getId).filter(id -> id > 0).toList());
+            }
+        }
+        return inserted;
+    }
+
+    public int insertCategories(int productId, List<Category> categories) throws SQLException {
+        int inserted = 0;
+        try {
+            for (int from = 0; from < categories.size(); from += batchSize) {
+                List<Category> batch = categories.subList(from, Math.min(from + batchSize, categories.size()));
+                inserted += insertCategoryBatch(productId, batch);
+            }
+        } finally {
+            if (inserted > 0) {
+                invalidateCaches(List.of(productId));
+            }
+        }
+        return inserted;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    private int insertProductBatch(List<Product> batch) throws SQLException {
+        try (Connection conn = dbConnection.getDBConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                insertProductRows(conn, batch);
+
+                List<Category> categories = new ArrayList<>();
+                List<Integer> productIds = new ArrayList<>();
+                for (Product product : batch) {
+                    for (Category category : product.getCategories()) {
+                        if (category.getName() != null) {
+                            categories.add(category);
+                            productIds.add(product.getId());
+                        }
+                    }
+                }
+                insertCategoryRows(conn, categories, productIds);
+
+                conn.commit();
+                return batch.size();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private int insertCategoryBatch(int productId, List<Category> batch) throws SQLException {
+        try (Connection conn = dbConnection.getDBConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                List<Integer> productIds = new ArrayList<>();
+                for (int i = 0; i < batch.size(); i++) {
+                    productIds.add(productId);
+                }
+                insertCategoryRows(conn, batch, productIds);
+
+                conn.commit();
+                return batch.size();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private void insertProductRows(Connection conn, List<Product> batch) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(INSERT_PRODUCT, new String[]{"id"})) {
+            for (Product product : batch) {
+                pstmt.setString(1, product.getName());
+                pstmt.setDouble(2, product.getPrice());
+                Instant creation = product.getCreationDateTime();
+                pstmt.setTimestamp(3, creation != null ? Timestamp.from(creation) : null);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+
+            try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                for (Product product : batch) {
+                    if (!keys.next()) {
+                        throw new SQLException("Missing generated id for product " + product.getName());
+                    }
+                    product.setId(keys.getInt(1));
+                }
+            }
+        }
+    }
+
+    private void insertCategoryRows(Connection conn, List<Category> categories,
+                                    List<Integer> productIds) throws SQLException {
+        if (categories.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(INSERT_CATEGORY, new String[]{"id"})) {
+            for (int i = 0; i < categories.size(); i++) {
+                pstmt.setString(1, categories.get(i).getName());
+                pstmt.setInt(2, productIds.get(i));
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+
+            try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                for (Category category : categories) {
+                    if (!keys.next()) {
+                        throw new SQLException("Missing generated id for category " + category.getName());
+                    }
+                    category.setId(keys.getInt(1));
+                }
+            }
+        }
+    }
+
+    private void invalidateCaches(List<Integer> productIds) {
+        CategoryCache.shared().invalidateAll();
+        ProductQueryCache.shared().invalidateAll();
+        ProductByIdCache byIdCache = ProductByIdCache.shared();
+        for (int productId : productIds) {
+            byIdCache.invalidate(productId);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.productmanagement.dao;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+@FunctionalInterface
+interface StatementBinder {
+    void bind(PreparedStatement pstmt) throws SQLException;
+}
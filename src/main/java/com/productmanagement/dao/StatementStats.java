@@ -0,0 +1,52 @@
+package com.productmanagement.dao;
+
+public class StatementStats {
+    private final int templateCount;
+    private final long templateHits;
+    private final long templateMisses;
+    private final long executionCount;
+    private final long serverPreparedCount;
+
+    public StatementStats(int templateCount, long templateHits, long templateMisses,
+                          long executionCount, long serverPreparedCount) {
+        this.templateCount = templateCount;
+        this.templateHits = templateHits;
+        this.templateMisses = templateMisses;
+        this.executionCount = executionCount;
+        this.serverPreparedCount = serverPreparedCount;
+    }
+
+    public int getTemplateCount() {
+        return templateCount;
+    }
+
+    public long getTemplateHits() {
+        return templateHits;
+    }
+
+    public long getTemplateMisses() {
+        return templateMisses;
+    }
+
+    public long getExecutionCount() {
+        return executionCount;
+    }
+
+    public long getServerPreparedCount() {
+        return serverPreparedCount;
+    }
+
+    public double getPlanReuseRate() {
+        return executionCount == 0 ? 0.0 : (double) serverPreparedCount / executionCount;
+    }
+
+    @Override
+    public String toString() {
+        return "StatementStats{templates=" + templateCount +
+                ", templateHits=" + templateHits +
+                ", templateMisses=" + templateMisses +
+                ", executions=" + executionCount +
+                ", serverPrepared=" + serverPreparedCount +
+                ", planReuseRate=" + String.format("%.3f", getPlanReuseRate()) + "}";
+    }
+}
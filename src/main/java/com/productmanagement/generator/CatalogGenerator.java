@@ -0,0 +1,185 @@
+package com.productmanagement.generator;
+
+import com.productmanagement.dao.CatalogBulkLoader;
+import com.productmanagement.dao.CopyResult;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+public class CatalogGenerator {
+    private static final String[] NAME_WORDS = {
+            "Laptop", "Phone", "Casque", "Clavier", "Ecran", "Souris", "Routeur", "Tablette",
+            "Enceinte", "Camera", "Console", "Disque", "Imprimante", "Montre", "Chargeur", "Cable",
+            "Dell", "Samsung", "Sony", "Logitech", "Apple", "Lenovo", "Asus", "Acer",
+            "Pro", "Max", "Ultra", "Mini", "Air", "Plus", "Lite", "Edge",
+            "Wireless", "Gaming", "Bluetooth", "Portable", "Noir", "Blanc", "Slim", "Smart"
+    };
+    private static final String[] CATEGORY_WORDS = {
+            "Informatique", "Audio", "Mobile", "Bureau", "Accessoires", "Telephonie", "Gaming", "Maison",
+            "Cuisine", "Jardin", "Sport", "Photo", "Video", "Reseau", "Stockage", "Impression"
+    };
+    private static final String[] SYLLABLES = {
+            "ka", "lo", "mi", "ra", "te", "zu", "no", "vi", "sa", "do", "re", "xa", "po", "li", "an", "er"
+    };
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final long PRODUCT_SALT = 0x5DEECE66DL;
+    private static final long CATEGORY_SALT = 0xB5297A4DL;
+
+    private final GeneratorConfig config;
+    private final String[] nameVocabulary;
+    private final String[] categoryVocabulary;
+    private final ZipfSampler nameSampler;
+    private final ZipfSampler categorySampler;
+
+    public CatalogGenerator(GeneratorConfig config) {
+        config.validate();
+        this.config = config;
+        this.nameVocabulary = vocabulary(NAME_WORDS, config.getNameVocabularySize());
+        this.categoryVocabulary = vocabulary(CATEGORY_WORDS, config.getCategoryCount());
+        this.nameSampler = new ZipfSampler(nameVocabulary.length, config.getNameTokenSkew());
+        this.categorySampler = new ZipfSampler(categoryVocabulary.length, config.getCategorySkew());
+    }
+
+    public CopyResult load() throws SQLException, IOException {
+        return new CatalogBulkLoader().importCatalog(productCsv(), categoryCsv(), CatalogBulkLoader.Format.CSV);
+    }
+
+    InputStream productCsv() {
+        int[] next = {config.getFirstIndex()};
+        int end = config.getFirstIndex() + config.getProductCount();
+        return new CsvRowStream("source_id,name,price,creation_datetime", out -> {
+            if (next[0] >= end) {
+                return false;
+            }
+            appendProduct(out, next[0]++);
+            return true;
+        });
+    }
+
+    InputStream categoryCsv() {
+        int[] next = {config.getFirstIndex()};
+        long[] rowId = {0};
+        int end = config.getFirstIndex() + config.getProductCount();
+        return new CsvRowStream("source_id,name,source_product_id", out -> {
+            if (next[0] >= end) {
+                return false;
+            }
+            int index = next[0]++;
+            for (int category : categoriesOf(index)) {
+                out.append(++rowId[0]).append(',')
+                        .append(categoryVocabulary[category]).append(',')
+                        .append(index + 1).append('\n');
+            }
+            return true;
+        });
+    }
+
+    private void appendProduct(StringBuilder out, int index) {
+        SplittableRandom random = randomFor(index, PRODUCT_SALT);
+
+        StringBuilder name = new StringBuilder();
+        int tokens = config.getMinNameTokens() +
+                random.nextInt(config.getMaxNameTokens() - config.getMinNameTokens() + 1);
+        for (int t = 0; t < tokens; t++) {
+            name.append(nameVocabulary[nameSampler.sample(random)]).append(' ');
+        }
+        name.append(100 + random.nextInt(900));
+        if (name.length() > 255) {
+            name.setLength(255);
+        }
+
+        double price = config.getMedianPrice() * Math.exp(config.getPriceSpread() * random.nextGaussian());
+        price = Math.min(Math.max(Math.round(price * 100) / 100.0, 0.01), 99_999_999.99);
+
+        long start = config.getCreationStart().getEpochSecond();
+        long span = config.getCreationEnd().getEpochSecond() - start;
+        double position = Math.pow(random.nextDouble(), 1.0 / (1.0 + config.getRecentBias()));
+        LocalDateTime created = LocalDateTime.ofEpochSecond(start + (long) (position * span), 0, ZoneOffset.UTC);
+
+        out.append(index + 1).append(',')
+                .append(name).append(',')
+                .append(String.format(Locale.ROOT, "%.2f", price)).append(',')
+                .append(TIMESTAMP_FORMAT.format(created)).append('\n');
+    }
+
+    int[] categoriesOf(int index) {
+        SplittableRandom random = randomFor(index, CATEGORY_SALT);
+        int count = 0;
+        if (config.getMinCategoriesPerProduct() > 0 || random.nextDouble() >= config.getUncategorizedProbability()) {
+            // A maximum of zero leaves every product uncategorized
+            count = Math.min(Math.max(config.getMinCategoriesPerProduct(), 1), config.getMaxCategoriesPerProduct());
+            while (count < config.getMaxCategoriesPerProduct() &&
+                    random.nextDouble() < config.getExtraCategoryProbability()) {
+                count++;
+            }
+        }
+        count = Math.min(count, categoryVocabulary.length);
+
+        int[] categories = new int[count];
+        for (int c = 0; c < count; c++) {
+            int candidate = categorySampler.sample(random);
+            while (contains(categories, c, candidate)) {
+                candidate = (candidate + 1) % categoryVocabulary.length;
+            }
+            categories[c] = candidate;
+        }
+        return categories;
+    }
+
+    private SplittableRandom randomFor(int index, long salt) {
+        return new SplittableRandom(config.getSeed() * 0x9E3779B97F4A7C15L + salt + index);
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String[] vocabulary(String[] seedWords, int size) {
+        String[] words = Arrays.copyOf(seedWords, size);
+        for (int i = seedWords.length; i < size; i++) {
+            StringBuilder word = new StringBuilder();
+            int n = i;
+            do {
+                word.append(SYLLABLES[n % SYLLABLES.length]);
+                n /= SYLLABLES.length;
+            } while (n > 0);
+            word.setCharAt(0, Character.toUpperCase(word.charAt(0)));
+            words[i] = word.toString();
+        }
+        return words;
+    }
+
+    public static void main(String[] args) throws Exception {
+        GeneratorConfig config = new GeneratorConfig();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--products" -> config.setProductCount(Integer.parseInt(value));
+                case "--first-index" -> config.setFirstIndex(Integer.parseInt(value));
+                case "--seed" -> config.setSeed(Long.parseLong(value));
+                case "--categories" -> config.setCategoryCount(Integer.parseInt(value));
+                case "--category-skew" -> config.setCategorySkew(Double.parseDouble(value));
+                case "--max-categories" -> config.setMaxCategoriesPerProduct(Integer.parseInt(value));
+                case "--vocabulary" -> config.setNameVocabularySize(Integer.parseInt(value));
+                case "--name-skew" -> config.setNameTokenSkew(Double.parseDouble(value));
+                case "--recent-bias" -> config.setRecentBias(Double.parseDouble(value));
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        System.out.println("Generating " + config.getProductCount() + " products (seed " + config.getSeed() + ")");
+        CopyResult result = new CatalogGenerator(config).load();
+        System.out.println(result);
+    }
+}
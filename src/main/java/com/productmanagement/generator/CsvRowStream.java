@@ -0,0 +1,65 @@
+package com.productmanagement.generator;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+// Produces CSV lazily, one chunk of rows at a time, so generated catalogs never sit in memory.
+final class CsvRowStream extends InputStream {
+
+    interface RowSource {
+        boolean appendRows(StringBuilder out);
+    }
+
+    private static final int TARGET_CHUNK_CHARS = 64 * 1024;
+
+    private final RowSource source;
+    private final StringBuilder chunk = new StringBuilder(TARGET_CHUNK_CHARS + 1024);
+    private byte[] buffer = new byte[0];
+    private int position;
+    private boolean exhausted;
+
+    CsvRowStream(String header, RowSource source) {
+        this.source = source;
+        this.buffer = (header + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int read() {
+        if (!fill()) {
+            return -1;
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] target, int offset, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int count = Math.min(length, buffer.length - position);
+        System.arraycopy(buffer, position, target, offset, count);
+        position += count;
+        return count;
+    }
+
+    private boolean fill() {
+        while (position >= buffer.length) {
+            if (exhausted) {
+                return false;
+            }
+            chunk.setLength(0);
+            while (chunk.length() < TARGET_CHUNK_CHARS) {
+                if (!source.appendRows(chunk)) {
+                    exhausted = true;
+                    break;
+                }
+            }
+            buffer = chunk.toString().getBytes(StandardCharsets.UTF_8);
+            position = 0;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,187 @@
+package com.productmanagement.generator;
+
+import java.time.Instant;
+
+public class GeneratorConfig {
+    private long seed = 42L;
+    private int firstIndex = 0;
+    private int productCount = 100000;
+    private int nameVocabularySize = 2000;
+    private double nameTokenSkew = 1.1;
+    private int minNameTokens = 2;
+    private int maxNameTokens = 4;
+    private int categoryCount = 200;
+    private double categorySkew = 1.2;
+    private int minCategoriesPerProduct = 0;
+    private int maxCategoriesPerProduct = 4;
+    private double extraCategoryProbability = 0.35;
+    private double uncategorizedProbability = 0.02;
+    private Instant creationStart = Instant.parse("2020-01-01T00:00:00Z");
+    private Instant creationEnd = Instant.parse("2025-01-01T00:00:00Z");
+    private double recentBias = 1.0;
+    private double medianPrice = 120.0;
+    private double priceSpread = 1.2;
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public int getFirstIndex() {
+        return firstIndex;
+    }
+
+    public void setFirstIndex(int firstIndex) {
+        this.firstIndex = firstIndex;
+    }
+
+    public int getProductCount() {
+        return productCount;
+    }
+
+    public void setProductCount(int productCount) {
+        this.productCount = productCount;
+    }
+
+    public int getNameVocabularySize() {
+        return nameVocabularySize;
+    }
+
+    public void setNameVocabularySize(int nameVocabularySize) {
+        this.nameVocabularySize = nameVocabularySize;
+    }
+
+    public double getNameTokenSkew() {
+        return nameTokenSkew;
+    }
+
+    public void setNameTokenSkew(double nameTokenSkew) {
+        this.nameTokenSkew = nameTokenSkew;
+    }
+
+    public int getMinNameTokens() {
+        return minNameTokens;
+    }
+
+    public void setMinNameTokens(int minNameTokens) {
+        this.minNameTokens = minNameTokens;
+    }
+
+    public int getMaxNameTokens() {
+        return maxNameTokens;
+    }
+
+    public void setMaxNameTokens(int maxNameTokens) {
+        this.maxNameTokens = maxNameTokens;
+    }
+
+    public int getCategoryCount() {
+        return categoryCount;
+    }
+
+    public void setCategoryCount(int categoryCount) {
+        this.categoryCount = categoryCount;
+    }
+
+    public double getCategorySkew() {
+        return categorySkew;
+    }
+
+    public void setCategorySkew(double categorySkew) {
+        this.categorySkew = categorySkew;
+    }
+
+    public int getMinCategoriesPerProduct() {
+        return minCategoriesPerProduct;
+    }
+
+    public void setMinCategoriesPerProduct(int minCategoriesPerProduct) {
+        this.minCategoriesPerProduct = minCategoriesPerProduct;
+    }
+
+    public int getMaxCategoriesPerProduct() {
+        return maxCategoriesPerProduct;
+    }
+
+    public void setMaxCategoriesPerProduct(int maxCategoriesPerProduct) {
+        this.maxCategoriesPerProduct = maxCategoriesPerProduct;
+    }
+
+    public double getExtraCategoryProbability() {
+        return extraCategoryProbability;
+    }
+
+    public void setExtraCategoryProbability(double extraCategoryProbability) {
+        this.extraCategoryProbability = extraCategoryProbability;
+    }
+
+    public double getUncategorizedProbability() {
+        return uncategorizedProbability;
+    }
+
+    public void setUncategorizedProbability(double uncategorizedProbability) {
+        this.uncategorizedProbability = uncategorizedProbability;
+    }
+
+    public Instant getCreationStart() {
+        return creationStart;
+    }
+
+    public void setCreationStart(Instant creationStart) {
+        this.creationStart = creationStart;
+    }
+
+    public Instant getCreationEnd() {
+        return creationEnd;
+    }
+
+    public void setCreationEnd(Instant creationEnd) {
+        this.creationEnd = creationEnd;
+    }
+
+    public double getRecentBias() {
+        return recentBias;
+    }
+
+    public void setRecentBias(double recentBias) {
+        this.recentBias = recentBias;
+    }
+
+    public double getMedianPrice() {
+        return medianPrice;
+    }
+
+    public void setMedianPrice(double medianPrice) {
+        this.medianPrice = medianPrice;
+    }
+
+    public double getPriceSpread() {
+        return priceSpread;
+    }
+
+    public void setPriceSpread(double priceSpread) {
+        this.priceSpread = priceSpread;
+    }
+
+    void validate() {
+        if (productCount < 0 || firstIndex < 0) {
+            throw new IllegalArgumentException("Product count and first index must not be negative");
+        }
+        if (nameVocabularySize <= 0 || categoryCount <= 0) {
+            throw new IllegalArgumentException("Vocabulary and category counts must be positive");
+        }
+        if (minNameTokens <= 0 || maxNameTokens < minNameTokens) {
+            throw new IllegalArgumentException("Invalid name token range: " + minNameTokens + ".." + maxNameTokens);
+        }
+        if (minCategoriesPerProduct < 0 || maxCategoriesPerProduct < minCategoriesPerProduct) {
+            throw new IllegalArgumentException("Invalid category fan-out: " +
+                    minCategoriesPerProduct + ".." + maxCategoriesPerProduct);
+        }
+        if (!creationEnd.isAfter(creationStart)) {
+            throw new IllegalArgumentException("Creation end must be after creation start");
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.productmanagement.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Aggregates events per (method, shape) tag: latency and connection-wait histograms plus
+// call, error, row and byte counters.
+public class InMemoryMetricsSink implements MetricsSink {
+    private final ConcurrentHashMap<String, Aggregate> aggregates = new ConcurrentHashMap<>();
+
+    @Override
+    public void record(QueryEvent event) {
+        String key = key(event.getMethod(), event.getShape());
+        Aggregate aggregate = aggregates.get(key);
+        if (aggregate == null) {
+            Aggregate created = new Aggregate(event.getMethod(), event.getShape());
+            aggregate = aggregates.putIfAbsent(key, created);
+            if (aggregate == null) {
+                aggregate = created;
+                tagAdded(event.getMethod(), event.getShape());
+            }
+        }
+        aggregate.add(event);
+    }
+
+    // Null when nothing was recorded for the tag.
+    public QueryStats getStats(String method, String shape) {
+        Aggregate aggregate = aggregates.get(key(method, shape));
+        return aggregate != null ? aggregate.snapshot() : null;
+    }
+
+    public List<QueryStats> getAllStats() {
+        List<QueryStats> stats = new ArrayList<>();
+        for (Aggregate aggregate : aggregates.values()) {
+            stats.add(aggregate.snapshot());
+        }
+        stats.sort(Comparator.comparing(QueryStats::getMethod).thenComparing(QueryStats::getShape));
+        return stats;
+    }
+
+    public void reset() {
+        aggregates.clear();
+    }
+
+    // Called once when the first event for a tag arrives.
+    protected void tagAdded(String method, String shape) {
+    }
+
+    private static String key(String method, String shape) {
+        return method + '\u0000' + shape;
+    }
+
+    private static final class Aggregate {
+        private final String method;
+        private final String shape;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LatencyHistogram connectionWait = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+
+        Aggregate(String method, String shape) {
+            this.method = method;
+            this.shape = shape;
+        }
+
+        void add(QueryEvent event) {
+            latency.recordNanos(event.getLatencyNanos());
+            connectionWait.recordNanos(event.getConnectionWaitNanos());
+            rows.add(event.getRows());
+            bytes.add(event.getBytes());
+            if (event.isFailed()) {
+                errors.increment();
+            }
+        }
+
+        QueryStats snapshot() {
+            return new QueryStats(method, shape, latency.getCount(), errors.sum(), rows.sum(), bytes.sum(),
+                    latency.getMeanMillis(), latency.getPercentileMillis(0.50),
+                    latency.getPercentileMillis(0.95), latency.getPercentileMillis(0.99),
+                    latency.getMaxMillis(), connectionWait.getMeanMillis(),
+                    connectionWait.getPercentileMillis(0.99));
+        }
+    }
+}
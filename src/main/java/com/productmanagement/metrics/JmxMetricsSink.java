@@ -0,0 +1,139 @@
+package com.productmanagement.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// In-memory aggregation that also publishes one MXBean per tag, named
+// <domain>:type=QueryStats,method=<method>,shape=<shape>. Beans read the live aggregates,
+// so JMX clients see current values without a publishing thread.
+public class JmxMetricsSink extends InMemoryMetricsSink implements AutoCloseable {
+    public static final String DEFAULT_DOMAIN = "com.productmanagement";
+
+    private final MBeanServer server;
+    private final String domain;
+    private final List<ObjectName> registered = new CopyOnWriteArrayList<>();
+
+    public JmxMetricsSink() {
+        this(ManagementFactory.getPlatformMBeanServer(), DEFAULT_DOMAIN);
+    }
+
+    public JmxMetricsSink(MBeanServer server, String domain) {
+        this.server = server;
+        this.domain = domain;
+    }
+
+    public ObjectName objectName(String method, String shape) throws JMException {
+        return new ObjectName(domain + ":type=QueryStats,method=" + ObjectName.quote(method) +
+                ",shape=" + ObjectName.quote(shape));
+    }
+
+    @Override
+    protected void tagAdded(String method, String shape) {
+        try {
+            ObjectName name = objectName(method, shape);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new LiveQueryStats(method, shape), name);
+                registered.add(name);
+            }
+        } catch (JMException e) {
+            System.err.println("Error registering query metrics MXBean: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        for (ObjectName name : registered) {
+            try {
+                server.unregisterMBean(name);
+            } catch (JMException e) {
+                System.err.println("Error unregistering query metrics MXBean: " + e.getMessage());
+            }
+        }
+        registered.clear();
+    }
+
+    private final class LiveQueryStats implements QueryStatsMXBean {
+        private final String method;
+        private final String shape;
+
+        LiveQueryStats(String method, String shape) {
+            this.method = method;
+            this.shape = shape;
+        }
+
+        private QueryStats stats() {
+            QueryStats stats = getStats(method, shape);
+            return stats != null ? stats
+                    : new QueryStats(method, shape, 0, 0, 0, 0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0);
+        }
+
+        @Override
+        public String getMethod() {
+            return method;
+        }
+
+        @Override
+        public String getShape() {
+            return shape;
+        }
+
+        @Override
+        public long getCount() {
+            return stats().getCount();
+        }
+
+        @Override
+        public long getErrorCount() {
+            return stats().getErrorCount();
+        }
+
+        @Override
+        public long getRowsReturned() {
+            return stats().getRowsReturned();
+        }
+
+        @Override
+        public long getBytesMapped() {
+            return stats().getBytesMapped();
+        }
+
+        @Override
+        public double getMeanLatencyMillis() {
+            return stats().getMeanLatencyMillis();
+        }
+
+        @Override
+        public double getP50LatencyMillis() {
+            return stats().getP50LatencyMillis();
+        }
+
+        @Override
+        public double getP95LatencyMillis() {
+            return stats().getP95LatencyMillis();
+        }
+
+        @Override
+        public double getP99LatencyMillis() {
+            return stats().getP99LatencyMillis();
+        }
+
+        @Override
+        public double getMaxLatencyMillis() {
+            return stats().getMaxLatencyMillis();
+        }
+
+        @Override
+        public double getMeanConnectionWaitMillis() {
+            return stats().getMeanConnectionWaitMillis();
+        }
+
+        @Override
+        public double getP99ConnectionWaitMillis() {
+            return stats().getP99ConnectionWaitMillis();
+        }
+    }
+}
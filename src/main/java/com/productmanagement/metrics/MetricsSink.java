@@ -0,0 +1,10 @@
+package com.productmanagement.metrics;
+
+// Receives one event per finished DataRetriever call. Implementations must be thread-safe
+// and cheap: record() runs on the caller's thread after every query.
+@FunctionalInterface
+public interface MetricsSink {
+    MetricsSink NONE = event -> { };
+
+    void record(QueryEvent event);
+}
@@ -0,0 +1,62 @@
+package com.productmanagement.metrics;
+
+public class QueryEvent {
+    private final String method;
+    private final String shape;
+    private final long latencyNanos;
+    private final long connectionWaitNanos;
+    private final long rows;
+    private final long bytes;
+    private final boolean failed;
+
+    public QueryEvent(String method, String shape, long latencyNanos, long connectionWaitNanos,
+                      long rows, long bytes, boolean failed) {
+        this.method = method;
+        this.shape = shape;
+        this.latencyNanos = latencyNanos;
+        this.connectionWaitNanos = connectionWaitNanos;
+        this.rows = rows;
+        this.bytes = bytes;
+        this.failed = failed;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getShape() {
+        return shape;
+    }
+
+    public long getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    // Zero when the call was answered without a database connection (cache or snapshot).
+    public long getConnectionWaitNanos() {
+        return connectionWaitNanos;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    @Override
+    public String toString() {
+        return "QueryEvent{method=" + method +
+                ", shape=" + shape +
+                ", latencyMs=" + String.format("%.3f", latencyNanos / 1_000_000.0) +
+                ", connectionWaitMs=" + String.format("%.3f", connectionWaitNanos / 1_000_000.0) +
+                ", rows=" + rows +
+                ", bytes=" + bytes +
+                ", failed=" + failed + "}";
+    }
+}
@@ -0,0 +1,62 @@
+package com.productmanagement.metrics;
+
+import com.productmanagement.DBConnection;
+import java.time.Instant;
+import java.util.Locale;
+
+// Pairs a metrics sink with a slow-query log. DataRetriever starts a trace per call and
+// finishes it when the call returns, whether it was answered from memory or the database.
+public class QueryInstrumentation {
+    private static volatile QueryInstrumentation shared;
+
+    private final MetricsSink sink;
+    private final SlowQueryLog slowQueryLog;
+
+    public QueryInstrumentation(MetricsSink sink, SlowQueryLog slowQueryLog) {
+        this.sink = sink;
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    public static QueryInstrumentation disabled() {
+        return new QueryInstrumentation(MetricsSink.NONE, SlowQueryLog.disabled());
+    }
+
+    public static QueryInstrumentation shared() {
+        QueryInstrumentation current = shared;
+        if (current != null) {
+            return current;
+        }
+        synchronized (QueryInstrumentation.class) {
+            if (shared == null) {
+                DBConnection config = new DBConnection();
+                MetricsSink sink = switch (config.getProperty("metrics.sink", "memory").toLowerCase(Locale.ROOT)) {
+                    case "none" -> MetricsSink.NONE;
+                    case "jmx" -> new JmxMetricsSink();
+                    default -> new InMemoryMetricsSink();
+                };
+                shared = new QueryInstrumentation(sink, new SlowQueryLog(
+                        config.getIntProperty("metrics.slowQueryMillis", 500),
+                        config.getIntProperty("metrics.slowQueryLogSize", 100),
+                        config.getBooleanProperty("metrics.slowQueryExplain", true)));
+            }
+            return shared;
+        }
+    }
+
+    public QueryTrace start(String method, String shape) {
+        return new QueryTrace(this, method, shape);
+    }
+
+    public void logSlowQuery(QueryTrace trace, String sql, String plan) {
+        slowQueryLog.log(new SlowQuery(Instant.now(), trace.getMethod(), trace.getShape(), sql,
+                trace.elapsedNanos(), plan));
+    }
+
+    public MetricsSink getSink() {
+        return sink;
+    }
+
+    public SlowQueryLog getSlowQueryLog() {
+        return slowQueryLog;
+    }
+}
@@ -0,0 +1,108 @@
+package com.productmanagement.metrics;
+
+public class QueryStats {
+    private final String method;
+    private final String shape;
+    private final long count;
+    private final long errorCount;
+    private final long rowsReturned;
+    private final long bytesMapped;
+    private final double meanLatencyMillis;
+    private final double p50LatencyMillis;
+    private final double p95LatencyMillis;
+    private final double p99LatencyMillis;
+    private final double maxLatencyMillis;
+    private final double meanConnectionWaitMillis;
+    private final double p99ConnectionWaitMillis;
+
+    public QueryStats(String method, String shape, long count, long errorCount, long rowsReturned,
+                      long bytesMapped, double meanLatencyMillis, double p50LatencyMillis,
+                      double p95LatencyMillis, double p99LatencyMillis, double maxLatencyMillis,
+                      double meanConnectionWaitMillis, double p99ConnectionWaitMillis) {
+        this.method = method;
+        this.shape = shape;
+        this.count = count;
+        this.errorCount = errorCount;
+        this.rowsReturned = rowsReturned;
+        this.bytesMapped = bytesMapped;
+        this.meanLatencyMillis = meanLatencyMillis;
+        this.p50LatencyMillis = p50LatencyMillis;
+        this.p95LatencyMillis = p95LatencyMillis;
+        this.p99LatencyMillis = p99LatencyMillis;
+        this.maxLatencyMillis = maxLatencyMillis;
+        this.meanConnectionWaitMillis = meanConnectionWaitMillis;
+        this.p99ConnectionWaitMillis = p99ConnectionWaitMillis;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getShape() {
+        return shape;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public double getErrorRate() {
+        return count == 0 ? 0.0 : (double) errorCount / count;
+    }
+
+    public long getRowsReturned() {
+        return rowsReturned;
+    }
+
+    public long getBytesMapped() {
+        return bytesMapped;
+    }
+
+    public double getMeanLatencyMillis() {
+        return meanLatencyMillis;
+    }
+
+    public double getP50LatencyMillis() {
+        return p50LatencyMillis;
+    }
+
+    public double getP95LatencyMillis() {
+        return p95LatencyMillis;
+    }
+
+    public double getP99LatencyMillis() {
+        return p99LatencyMillis;
+    }
+
+    public double getMaxLatencyMillis() {
+        return maxLatencyMillis;
+    }
+
+    public double getMeanConnectionWaitMillis() {
+        return meanConnectionWaitMillis;
+    }
+
+    public double getP99ConnectionWaitMillis() {
+        return p99ConnectionWaitMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "QueryStats{method=" + method +
+                ", shape=" + shape +
+                ", count=" + count +
+                ", errors=" + errorCount +
+                ", rows=" + rowsReturned +
+                ", bytes=" + bytesMapped +
+                ", meanMs=" + String.format("%.3f", meanLatencyMillis) +
+                ", p50Ms=" + String.format("%.3f", p50LatencyMillis) +
+                ", p95Ms=" + String.format("%.3f", p95LatencyMillis) +
+                ", p99Ms=" + String.format("%.3f", p99LatencyMillis) +
+                ", maxMs=" + String.format("%.3f", maxLatencyMillis) +
+                ", meanConnectionWaitMs=" + String.format("%.3f", meanConnectionWaitMillis) + "}";
+    }
+}
@@ -0,0 +1,29 @@
+package com.productmanagement.metrics;
+
+public interface QueryStatsMXBean {
+    String getMethod();
+
+    String getShape();
+
+    long getCount();
+
+    long getErrorCount();
+
+    long getRowsReturned();
+
+    long getBytesMapped();
+
+    double getMeanLatencyMillis();
+
+    double getP50LatencyMillis();
+
+    double getP95LatencyMillis();
+
+    double getP99LatencyMillis();
+
+    double getMaxLatencyMillis();
+
+    double getMeanConnectionWaitMillis();
+
+    double getP99ConnectionWaitMillis();
+}
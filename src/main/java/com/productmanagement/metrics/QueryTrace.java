@@ -0,0 +1,66 @@
+package com.productmanagement.metrics;
+
+// Timing and volume for one call, from start() to finish(). Not thread-safe: a trace belongs
+// to the thread running the call (or, for streams, to whoever consumes and closes it).
+public class QueryTrace {
+    private final QueryInstrumentation instrumentation;
+    private final String method;
+    private final String shape;
+    private final long startNanos;
+    private long connectionWaitNanos;
+    private long rows;
+    private long bytes;
+    private boolean failed;
+    private boolean finished;
+
+    QueryTrace(QueryInstrumentation instrumentation, String method, String shape) {
+        this.instrumentation = instrumentation;
+        this.method = method;
+        this.shape = shape;
+        this.startNanos = System.nanoTime();
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getShape() {
+        return shape;
+    }
+
+    public void addConnectionWait(long waitNanos) {
+        connectionWaitNanos += waitNanos;
+    }
+
+    public void addRows(long count) {
+        rows += count;
+    }
+
+    // Approximate heap size of values mapped from result sets, counted only when rows come
+    // from the database.
+    public void addMappedBytes(long mappedBytes) {
+        bytes += mappedBytes;
+    }
+
+    public void fail() {
+        failed = true;
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public boolean isSlow() {
+        return instrumentation.getSlowQueryLog().isSlow(elapsedNanos());
+    }
+
+    // Records the call once; later calls are ignored.
+    public void finish() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        instrumentation.getSink().record(new QueryEvent(method, shape, elapsedNanos(), connectionWaitNanos,
+                rows, bytes, failed));
+    }
+}
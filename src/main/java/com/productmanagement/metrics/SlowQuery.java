@@ -0,0 +1,54 @@
+package com.productmanagement.metrics;
+
+import java.time.Instant;
+
+public class SlowQuery {
+    private final Instant loggedAt;
+    private final String method;
+    private final String shape;
+    private final String sql;
+    private final long latencyNanos;
+    private final String plan;
+
+    public SlowQuery(Instant loggedAt, String method, String shape, String sql, long latencyNanos, String plan) {
+        this.loggedAt = loggedAt;
+        this.method = method;
+        this.shape = shape;
+        this.sql = sql;
+        this.latencyNanos = latencyNanos;
+        this.plan = plan;
+    }
+
+    public Instant getLoggedAt() {
+        return loggedAt;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getShape() {
+        return shape;
+    }
+
+    // Parameterized SQL text; bound values are not kept.
+    public String getSql() {
+        return sql;
+    }
+
+    public long getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    // EXPLAIN output with the original bindings, or null when plans are not captured.
+    public String getPlan() {
+        return plan;
+    }
+
+    @Override
+    public String toString() {
+        return "Slow query " + method + "[" + shape + "] " +
+                String.format("%.3f", latencyNanos / 1_000_000.0) + " ms: " + sql +
+                (plan != null ? "\n" + plan : "");
+    }
+}
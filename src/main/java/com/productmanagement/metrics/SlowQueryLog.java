@@ -0,0 +1,68 @@
+package com.productmanagement.metrics;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Keeps the most recent queries that ran longer than the threshold and echoes each one to
+// System.err. A negative threshold disables the log.
+public class SlowQueryLog {
+    private final long thresholdNanos;
+    private final int capacity;
+    private final boolean explain;
+    private final ArrayDeque<SlowQuery> entries = new ArrayDeque<>();
+    private long loggedCount;
+
+    public SlowQueryLog(long thresholdMillis, int capacity, boolean explain) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Slow query log capacity must be positive: " + capacity);
+        }
+        this.thresholdNanos = thresholdMillis < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.capacity = capacity;
+        this.explain = explain;
+    }
+
+    public static SlowQueryLog disabled() {
+        return new SlowQueryLog(-1, 1, false);
+    }
+
+    public boolean isSlow(long latencyNanos) {
+        return thresholdNanos >= 0 && latencyNanos >= thresholdNanos;
+    }
+
+    // Whether callers should run EXPLAIN for slow queries before logging them.
+    public boolean isExplainEnabled() {
+        return explain;
+    }
+
+    public void log(SlowQuery query) {
+        synchronized (entries) {
+            if (entries.size() == capacity) {
+                entries.removeFirst();
+            }
+            entries.addLast(query);
+            loggedCount++;
+        }
+        System.err.println(query);
+    }
+
+    // Oldest first.
+    public List<SlowQuery> getEntries() {
+        synchronized (entries) {
+            return new ArrayList<>(entries);
+        }
+    }
+
+    public long getLoggedCount() {
+        synchronized (entries) {
+            return loggedCount;
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+}
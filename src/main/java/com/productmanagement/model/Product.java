@@ -1,20 +1,21 @@
 package com.productmanagement.model;
 
 import java.time.Instant;
+import java.util.List;
 
 public class Product {
     private int id;
     private String name;
     private double price;
     private Instant creationDateTime;
-    private Category category;
+    private List<Category> categories = List.of();
 
     public Product(int id, String name, double price, Instant creationDateTime, Category category) {
         this.id = id;
         this.name = name;
         this.price = price;
         this.creationDateTime = creationDateTime;
-        this.category = category;
+        this.categories = category != null ? List.of(category) : List.of();
     }
 
     public Product() {}
@@ -51,15 +52,36 @@ public class Product {
         this.creationDateTime = creationDateTime;
     }
 
+    public List<Category> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(List<Category> categories) {
+        this.categories = categories != null ? List.copyOf(categories) : List.of();
+    }
+
     public Category getCategory() {
-        return category;
+        return categories.isEmpty() ? null : categories.getFirst();
     }
 
     public void setCategory(Category category) {
-        this.category = category;
+        this.categories = category != null ? List.of(category) : List.of();
     }
 
     public String getCategoryName() {
-        return category != null ? category.getName() : "N/A";
+        if (categories.isEmpty()) {
+            return "N/A";
+        }
+        if (categories.size() == 1) {
+            return categories.getFirst().getName();
+        }
+        StringBuilder names = new StringBuilder();
+        for (Category category : categories) {
+            if (!names.isEmpty()) {
+                names.append(", ");
+            }
+            names.append(category.getName());
+        }
+        return names.toString();
     }
 }
\ No newline at end of file
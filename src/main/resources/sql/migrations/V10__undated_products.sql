@@ -0,0 +1,14 @@
+-- V6 originally made creation_datetime not null (it was part of the partitioned primary key)
+-- and rewrote missing creation dates to the migration time. The column is nullable again, as
+-- it was before partitioning: undated products go to product_default. Dates already rewritten
+-- by the original V6 cannot be told apart from real ones and are left as they are.
+alter table product drop constraint if exists product_pkey_partitioned;
+alter table product alter column creation_datetime drop not null;
+
+do $$
+begin
+    if not exists (select 1 from pg_constraint where conname = 'product_id_creation_key') then
+        alter table product add constraint product_id_creation_key unique (id, creation_datetime);
+    end if;
+end;
+$$;
@@ -0,0 +1,15 @@
+-- Trigram operator classes for the ILIKE '%term%' product and category filters
+create extension if not exists pg_trgm;
+
+-- Join column of product_category (foreign keys are not indexed automatically)
+create index if not exists idx_product_category_product_id on product_category (product_id);
+
+-- Range filter on creation date
+create index if not exists idx_product_creation_datetime on product (creation_datetime);
+
+-- Substring search on names
+create index if not exists idx_product_name_trgm on product using gin (name gin_trgm_ops);
+create index if not exists idx_product_category_name_trgm on product_category using gin (name gin_trgm_ops);
+
+analyze product;
+analyze product_category;
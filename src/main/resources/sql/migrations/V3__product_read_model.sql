@@ -0,0 +1,82 @@
+-- Read-optimized projection of product with its category names pre-aggregated,
+-- so product pages are a primary key range scan with no join or GROUP BY
+create table if not exists product_read_model (
+        id int primary key,
+        name varchar(255) not null,
+        price numeric(10,2) not null,
+        creation_datetime timestamp,
+        categories text,
+        constraint fk_read_model_product foreign key (id) references product(id) on delete cascade
+    );
+
+create index if not exists idx_product_read_model_creation_datetime on product_read_model (creation_datetime);
+create index if not exists idx_product_read_model_name_trgm on product_read_model using gin (name gin_trgm_ops);
+
+-- Rebuilds the projection rows of the given products from the base tables
+create or replace function product_read_model_refresh(product_ids int[]) returns void
+language sql as $$
+    insert into product_read_model (id, name, price, creation_datetime, categories)
+    select p.id, p.name, p.price, p.creation_datetime,
+           (select string_agg(pc.name, ', ' order by pc.id)
+            from product_category pc where pc.product_id = p.id)
+    from product p
+    where p.id = any(product_ids)
+    on conflict (id) do update set
+        name = excluded.name,
+        price = excluded.price,
+        creation_datetime = excluded.creation_datetime,
+        categories = excluded.categories;
+$$;
+
+-- Statement-level triggers with transition tables refresh each touched product once,
+-- so bulk inserts do not pay a per-row trigger call; product deletes cascade
+create or replace function product_read_model_sync_product() returns trigger
+language plpgsql as $$
+begin
+    perform product_read_model_refresh(array(select id from new_rows));
+    return null;
+end;
+$$;
+
+create or replace function product_read_model_sync_category() returns trigger
+language plpgsql as $$
+begin
+    if tg_op in ('INSERT', 'UPDATE') then
+        perform product_read_model_refresh(array(select distinct product_id from new_rows));
+    end if;
+    if tg_op in ('UPDATE', 'DELETE') then
+        perform product_read_model_refresh(array(select distinct product_id from old_rows));
+    end if;
+    return null;
+end;
+$$;
+
+drop trigger if exists trg_product_read_model_insert on product;
+create trigger trg_product_read_model_insert after insert on product
+    referencing new table as new_rows
+    for each statement execute function product_read_model_sync_product();
+
+drop trigger if exists trg_product_read_model_update on product;
+create trigger trg_product_read_model_update after update on product
+    referencing new table as new_rows
+    for each statement execute function product_read_model_sync_product();
+
+drop trigger if exists trg_product_category_read_model_insert on product_category;
+create trigger trg_product_category_read_model_insert after insert on product_category
+    referencing new table as new_rows
+    for each statement execute function product_read_model_sync_category();
+
+drop trigger if exists trg_product_category_read_model_update on product_category;
+create trigger trg_product_category_read_model_update after update on product_category
+    referencing old table as old_rows new table as new_rows
+    for each statement execute function product_read_model_sync_category();
+
+drop trigger if exists trg_product_category_read_model_delete on product_category;
+create trigger trg_product_category_read_model_delete after delete on product_category
+    referencing old table as old_rows
+    for each statement execute function product_read_model_sync_category();
+
+-- Backfill existing products
+select product_read_model_refresh(array(select id from product));
+
+analyze product_read_model;
@@ -0,0 +1,28 @@
+-- Keep category ids and names as parallel arrays so readers get structured categories
+-- instead of re-splitting a comma-joined string
+alter table product_read_model add column if not exists category_ids int[];
+alter table product_read_model add column if not exists category_names text[];
+
+create or replace function product_read_model_refresh(product_ids int[]) returns void
+language sql as $$
+    insert into product_read_model (id, name, price, creation_datetime, category_ids, category_names)
+    select p.id, p.name, p.price, p.creation_datetime, c.ids, c.names
+    from product p
+    left join lateral (
+        select array_agg(pc.id order by pc.id) as ids, array_agg(pc.name order by pc.id) as names
+        from product_category pc where pc.product_id = p.id
+    ) c on true
+    where p.id = any(product_ids)
+    on conflict (id) do update set
+        name = excluded.name,
+        price = excluded.price,
+        creation_datetime = excluded.creation_datetime,
+        category_ids = excluded.category_ids,
+        category_names = excluded.category_names;
+$$;
+
+select product_read_model_refresh(array(select id from product));
+
+alter table product_read_model drop column if exists categories;
+
+analyze product_read_model;
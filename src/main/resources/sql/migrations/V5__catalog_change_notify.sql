@@ -0,0 +1,36 @@
+-- Publish one notification per changed row on channel catalog_changes.
+-- Payload is "<table>:<I|U|D>:<product id>"; a category moved to another product
+-- also notifies its previous product.
+create or replace function notify_catalog_change() returns trigger
+language plpgsql as $$
+declare
+    changed jsonb;
+    previous jsonb;
+    key text := case when tg_table_name = 'product' then 'id' else 'product_id' end;
+begin
+    if tg_op = 'DELETE' then
+        changed := to_jsonb(old);
+    else
+        changed := to_jsonb(new);
+    end if;
+    perform pg_notify('catalog_changes',
+            tg_table_name || ':' || left(tg_op, 1) || ':' || (changed ->> key));
+
+    if tg_op = 'UPDATE' then
+        previous := to_jsonb(old);
+        if previous ->> key is distinct from changed ->> key then
+            perform pg_notify('catalog_changes',
+                    tg_table_name || ':' || left(tg_op, 1) || ':' || (previous ->> key));
+        end if;
+    end if;
+    return null;
+end;
+$$;
+
+drop trigger if exists trg_product_notify on product;
+create trigger trg_product_notify after insert or update or delete on product
+    for each row execute function notify_catalog_change();
+
+drop trigger if exists trg_product_category_notify on product_category;
+create trigger trg_product_category_notify after insert or update or delete on product_category
+    for each row execute function notify_catalog_change();
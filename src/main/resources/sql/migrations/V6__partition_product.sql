@@ -0,0 +1,149 @@
+-- Range-partition product by month of creation_datetime so date-window searches only scan
+-- the months they cover. Foreign keys cannot reference a partitioned table by id alone
+-- (unique keys must include the partition key), so the product_category and read model
+-- links are kept by statement-level triggers: joins on product_id are unchanged.
+
+alter table product_category drop constraint if exists fk_product;
+alter table product_read_model drop constraint if exists fk_read_model_product;
+
+-- Keep the id sequence when the old table is dropped
+alter sequence product_id_seq owned by none;
+alter table product rename to product_unpartitioned;
+
+create table product (
+        id int not null default nextval('product_id_seq'),
+        name varchar(255) not null,
+        price numeric(10,2) not null check (price >= 0),
+        creation_datetime timestamp default current_timestamp,
+        -- A primary key would force creation_datetime to be not null; products without a
+        -- creation date are kept as they are, in product_default
+        constraint product_id_creation_key unique (id, creation_datetime)
+    ) partition by range (creation_datetime);
+
+alter sequence product_id_seq owned by product.id;
+
+-- Rows outside every monthly partition, kept to undated products by creating partitions
+-- ahead of time (range partitioning routes a NULL key to the default partition)
+create table product_default partition of product default;
+
+-- Creates the partition for the month containing month_start; returns its name, or null
+-- when it already exists
+create or replace function product_create_partition(month_start date) returns text
+language plpgsql as $$
+declare
+    first_day date := date_trunc('month', month_start)::date;
+    partition_name text := 'product_p' || to_char(first_day, 'YYYYMM');
+begin
+    if to_regclass(partition_name) is not null then
+        return null;
+    end if;
+    execute format('create table %I partition of product for values from (%L) to (%L)',
+            partition_name, first_day::timestamp, (first_day + interval '1 month')::timestamp);
+    return partition_name;
+end;
+$$;
+
+-- Monthly partitions from the oldest product to three months ahead
+select product_create_partition(month::date)
+from generate_series(
+        date_trunc('month', coalesce((select min(creation_datetime) from product_unpartitioned), current_timestamp)),
+        date_trunc('month', current_timestamp) + interval '3 months',
+        interval '1 month') as month;
+
+insert into product (id, name, price, creation_datetime)
+select id, name, price, creation_datetime from product_unpartitioned;
+
+drop table product_unpartitioned;
+
+create index if not exists idx_product_creation_datetime on product (creation_datetime);
+create index if not exists idx_product_name_trgm on product using gin (name gin_trgm_ops);
+
+-- Category rows of detached partitions, kept so a partition can be re-attached with them
+create table if not exists product_category_archive (like product_category including defaults);
+create index if not exists idx_product_category_archive_product_id on product_category_archive (product_id);
+
+-- Replaces the foreign keys: deleting products removes their categories and projection rows,
+-- and categories must point at an existing product
+create or replace function product_cascade_delete() returns trigger
+language plpgsql as $$
+begin
+    delete from product_category where product_id in (select id from old_rows);
+    delete from product_read_model where id in (select id from old_rows);
+    return null;
+end;
+$$;
+
+create or replace function product_category_check_product() returns trigger
+language plpgsql as $$
+declare
+    missing int;
+begin
+    select n.product_id into missing
+    from new_rows n
+    where not exists (select 1 from product p where p.id = n.product_id)
+    limit 1;
+    if found then
+        raise foreign_key_violation using
+                message = format('product_id %s is not present in table "product"', missing);
+    end if;
+    return null;
+end;
+$$;
+
+drop trigger if exists trg_product_cascade_delete on product;
+create trigger trg_product_cascade_delete after delete on product
+    referencing old table as old_rows
+    for each statement execute function product_cascade_delete();
+
+drop trigger if exists trg_product_category_check_insert on product_category;
+create trigger trg_product_category_check_insert after insert on product_category
+    referencing new table as new_rows
+    for each statement execute function product_category_check_product();
+
+drop trigger if exists trg_product_category_check_update on product_category;
+create trigger trg_product_category_check_update after update on product_category
+    referencing new table as new_rows
+    for each statement execute function product_category_check_product();
+
+-- Triggers of the old table, recreated on the partitioned one (see V3 and V5)
+create trigger trg_product_read_model_insert after insert on product
+    referencing new table as new_rows
+    for each statement execute function product_read_model_sync_product();
+
+create trigger trg_product_read_model_update after update on product
+    referencing new table as new_rows
+    for each statement execute function product_read_model_sync_product();
+
+-- Row triggers of a partitioned table run on the partitions, where tg_table_name is the
+-- partition's name, so the published table name is passed as a trigger argument instead
+create or replace function notify_catalog_change() returns trigger
+language plpgsql as $$
+declare
+    changed jsonb;
+    previous jsonb;
+    source text := coalesce(tg_argv[0], tg_table_name);
+    key text := case when source = 'product' then 'id' else 'product_id' end;
+begin
+    if tg_op = 'DELETE' then
+        changed := to_jsonb(old);
+    else
+        changed := to_jsonb(new);
+    end if;
+    perform pg_notify('catalog_changes',
+            source || ':' || left(tg_op, 1) || ':' || (changed ->> key));
+
+    if tg_op = 'UPDATE' then
+        previous := to_jsonb(old);
+        if previous ->> key is distinct from changed ->> key then
+            perform pg_notify('catalog_changes',
+                    source || ':' || left(tg_op, 1) || ':' || (previous ->> key));
+        end if;
+    end if;
+    return null;
+end;
+$$;
+
+create trigger trg_product_notify after insert or update or delete on product
+    for each row execute function notify_catalog_change('product');
+
+analyze product;
@@ -0,0 +1,28 @@
+-- The V4 refresh aggregated categories, name and price in the trigger's own snapshot and
+-- upserted them blindly, so two transactions touching the same product lost an update: the
+-- one committing last overwrote the row with an aggregate missing the other's changes.
+-- Lock the products first, in a statement of their own, so the aggregating upsert that
+-- follows runs in a fresh READ COMMITTED snapshot including whatever the lock waited for.
+-- FOR NO KEY UPDATE conflicts with concurrent updates and refreshes of the same product but
+-- not with the key-share locks taken by category inserts.
+create or replace function product_read_model_refresh(product_ids int[]) returns void
+language plpgsql as $$
+begin
+    perform 1 from product where id = any(product_ids) order by id for no key update;
+
+    insert into product_read_model (id, name, price, creation_datetime, category_ids, category_names)
+    select p.id, p.name, p.price, p.creation_datetime, c.ids, c.names
+    from product p
+    left join lateral (
+        select array_agg(pc.id order by pc.id) as ids, array_agg(pc.name order by pc.id) as names
+        from product_category pc where pc.product_id = p.id
+    ) c on true
+    where p.id = any(product_ids)
+    on conflict (id) do update set
+        name = excluded.name,
+        price = excluded.price,
+        creation_datetime = excluded.creation_datetime,
+        category_ids = excluded.category_ids,
+        category_names = excluded.category_names;
+end;
+$$;
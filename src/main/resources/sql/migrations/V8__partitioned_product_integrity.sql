@@ -0,0 +1,62 @@
+-- The V6 triggers replacing the foreign keys read product without locking it, so a category
+-- insert racing a product delete could commit an orphan row. Like a real foreign key, the
+-- check now takes FOR KEY SHARE on the parent rows: a concurrent delete waits for the insert
+-- to commit (and its cascade then removes the new row), and an insert waiting on a delete
+-- finds the product gone and fails.
+create or replace function product_category_check_product() returns trigger
+language plpgsql as $$
+declare
+    missing int;
+begin
+    perform 1 from product
+    where id in (select distinct product_id from new_rows)
+    order by id
+    for key share;
+
+    select n.product_id into missing
+    from new_rows n
+    where not exists (select 1 from product p where p.id = n.product_id)
+    limit 1;
+    if found then
+        raise foreign_key_violation using
+                message = format('product_id %s is not present in table "product"', missing);
+    end if;
+    return null;
+end;
+$$;
+
+-- The partitioned primary key is (id, creation_datetime), so product.id on its own is no
+-- longer unique, while paging, lookups by id and the read model all assume it is. New ids
+-- come from product_id_seq; ids supplied explicitly are kept unique through the read
+-- model's id primary key, which every inserted product gets a row in, and ids cannot be
+-- changed afterwards.
+create or replace function product_read_model_insert_product() returns trigger
+language plpgsql as $$
+begin
+    insert into product_read_model (id, name, price, creation_datetime)
+    select id, name, price, creation_datetime from new_rows;
+    return null;
+exception
+    when unique_violation then
+        raise unique_violation using
+                message = 'duplicate product id: product.id must stay unique across partitions';
+end;
+$$;
+
+drop trigger if exists trg_product_read_model_insert on product;
+create trigger trg_product_read_model_insert after insert on product
+    referencing new table as new_rows
+    for each statement execute function product_read_model_insert_product();
+
+create or replace function product_reject_id_change() returns trigger
+language plpgsql as $$
+begin
+    raise exception 'product.id cannot be changed (from % to %)', old.id, new.id
+            using errcode = 'restrict_violation';
+end;
+$$;
+
+drop trigger if exists trg_product_reject_id_change on product;
+create trigger trg_product_reject_id_change before update of id on product
+    for each row when (old.id is distinct from new.id)
+    execute function product_reject_id_change();
@@ -0,0 +1,71 @@
+-- The V5/V6 row triggers queued one notification per changed row, so a bulk write paid one
+-- pg_notify per row inside its transaction and the listener parsed as many payloads. The
+-- triggers now run once per statement and publish the distinct product ids it touched, packed
+-- 500 to a payload: "<table>:<I|U|D>:<id>[,<id>...]". A statement touching more than 1000
+-- products publishes the single payload "resync" instead, which subscribers treat like a
+-- reconnect. Transition tables cannot be declared on a trigger with several events, so each
+-- operation has its own trigger.
+create or replace function notify_catalog_changes() returns trigger
+language plpgsql as $$
+declare
+    source text := tg_argv[0];
+    key text := case when tg_argv[0] = 'product' then 'id' else 'product_id' end;
+    chunk_size constant int := 500;
+    resync_threshold constant int := 1000;
+    ids int[];
+begin
+    if tg_op = 'INSERT' then
+        select array_agg(id order by id) into ids
+        from (select distinct (to_jsonb(r) ->> key)::int as id from new_rows r) changed;
+    elsif tg_op = 'DELETE' then
+        select array_agg(id order by id) into ids
+        from (select distinct (to_jsonb(r) ->> key)::int as id from old_rows r) changed;
+    else
+        -- A category moved to another product also notifies its previous product
+        select array_agg(id order by id) into ids
+        from (select (to_jsonb(r) ->> key)::int as id from new_rows r
+              union
+              select (to_jsonb(r) ->> key)::int from old_rows r) changed;
+    end if;
+
+    if ids is null then
+        return null;
+    end if;
+    if cardinality(ids) > resync_threshold then
+        perform pg_notify('catalog_changes', 'resync');
+        return null;
+    end if;
+    for i in 1 .. cardinality(ids) by chunk_size loop
+        perform pg_notify('catalog_changes',
+                source || ':' || left(tg_op, 1) || ':' || array_to_string(ids[i:i + chunk_size - 1], ','));
+    end loop;
+    return null;
+end;
+$$;
+
+-- Cascades to the row triggers, including clones left on detached partitions
+drop function if exists notify_catalog_change() cascade;
+
+create trigger trg_product_notify_insert after insert on product
+    referencing new table as new_rows
+    for each statement execute function notify_catalog_changes('product');
+
+create trigger trg_product_notify_update after update on product
+    referencing old table as old_rows new table as new_rows
+    for each statement execute function notify_catalog_changes('product');
+
+create trigger trg_product_notify_delete after delete on product
+    referencing old table as old_rows
+    for each statement execute function notify_catalog_changes('product');
+
+create trigger trg_product_category_notify_insert after insert on product_category
+    referencing new table as new_rows
+    for each statement execute function notify_catalog_changes('product_category');
+
+create trigger trg_product_category_notify_update after update on product_category
+    referencing old table as old_rows new table as new_rows
+    for each statement execute function notify_catalog_changes('product_category');
+
+create trigger trg_product_category_notify_delete after delete on product_category
+    referencing old table as old_rows
+    for each statement execute function notify_catalog_changes('product_category');
@@ -0,0 +1,79 @@
+package com.productmanagement;
+
+import org.junit.jupiter.api.*;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Properties;
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ConnectionPoolTest {
+    private ConnectionPool pool;
+
+    @BeforeAll
+    void setUp() throws SQLException {
+        Properties props = DBConnection.loadProperties();
+        Properties connectionProps = new Properties();
+        connectionProps.setProperty("user", props.getProperty("db.username"));
+        connectionProps.setProperty("password", props.getProperty("db.password"));
+
+        pool = new ConnectionPool(props.getProperty("db.url"), connectionProps,
+                0, 1, 200, 60000, 0, 2);
+    }
+
+    @AfterAll
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("Test 1: Closing a pooled connection should return it for reuse")
+    void testClosedConnectionIsReused() throws SQLException {
+        String firstBackend;
+        try (Connection connection = pool.getConnection()) {
+            firstBackend = backendPid(connection);
+        }
+        try (Connection connection = pool.getConnection()) {
+            assertEquals(firstBackend, backendPid(connection), "Should reuse the same physical connection");
+        }
+
+        PoolStats stats = pool.getStats();
+        assertEquals(0, stats.getActiveConnections(), "No connection should be active");
+        assertEquals(1, stats.getIdleConnections(), "Released connection should be idle");
+    }
+
+    @Test
+    @DisplayName("Test 2: Exhausted pool should time out")
+    void testExhaustedPoolTimesOut() throws SQLException {
+        try (Connection ignored = pool.getConnection()) {
+            assertThrows(SQLTimeoutException.class, () -> pool.getConnection(),
+                    "Should time out when max size is reached");
+        }
+        assertTrue(pool.getStats().getTimeoutCount() >= 1, "Timeout should be counted");
+    }
+
+    @Test
+    @DisplayName("Test 3: Returned connection should be reset and unusable")
+    void testReturnedConnectionIsResetAndUnusable() throws SQLException {
+        Connection connection = pool.getConnection();
+        connection.setAutoCommit(false);
+        connection.close();
+
+        assertTrue(connection.isClosed(), "Returned connection should report closed");
+        assertThrows(SQLException.class, connection::createStatement,
+                "Returned connection should not be usable");
+
+        try (Connection next = pool.getConnection()) {
+            assertTrue(next.getAutoCommit(), "Auto-commit should be restored on release");
+        }
+    }
+
+    private String backendPid(Connection connection) throws SQLException {
+        try (var stmt = connection.createStatement();
+             var rs = stmt.executeQuery("SELECT pg_backend_pid()")) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+}
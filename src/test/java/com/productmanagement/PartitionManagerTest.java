@@ -0,0 +1,220 @@
+package com.productmanagement;
+
+import com.productmanagement.dao.DataRetriever;
+import com.productmanagement.dao.ProductWriter;
+import com.productmanagement.metrics.InMemoryMetricsSink;
+import com.productmanagement.metrics.QueryInstrumentation;
+import com.productmanagement.metrics.SlowQuery;
+import com.productmanagement.metrics.SlowQueryLog;
+import com.productmanagement.model.Category;
+import com.productmanagement.model.Product;
+import org.junit.jupiter.api.*;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PartitionManagerTest {
+    private static final String PREFIX = "PartitionTest ";
+    private static final YearMonth ARCHIVED_MONTH = YearMonth.of(2001, 1);
+    private static final YearMonth DEFAULT_MONTH = YearMonth.of(1999, 5);
+
+    private PartitionManager partitionManager;
+
+    @BeforeAll
+    void setUp() throws SQLException {
+        new SchemaMigrator().migrate();
+        partitionManager = new PartitionManager();
+    }
+
+    @AfterEach
+    void cleanUp() throws SQLException {
+        try (Connection conn = new DBConnection().getDBConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM product WHERE name LIKE '" + PREFIX + "%'");
+            stmt.executeUpdate("DELETE FROM product_category_archive WHERE name LIKE '" + PREFIX + "%'");
+            stmt.execute("DROP TABLE IF EXISTS " + PartitionManager.partitionName(ARCHIVED_MONTH));
+            stmt.execute("DROP TABLE IF EXISTS " + PartitionManager.partitionName(DEFAULT_MONTH));
+        }
+    }
+
+    @Test
+    @DisplayName("Test 1: createPartitions should add upcoming months once")
+    void testCreatePartitions_ShouldBeIdempotent() throws SQLException {
+        YearMonth current = YearMonth.now();
+        partitionManager.createPartitions(current, 3);
+
+        assertTrue(partitionManager.createPartitions(current, 3).isEmpty(), "Second run should create nothing");
+        assertTrue(partitionManager.listPartitions().containsAll(
+                List.of(current, current.plusMonths(1), current.plusMonths(3))), "Upcoming months should exist");
+    }
+
+    @Test
+    @DisplayName("Test 2: Date-filtered criteria queries should only scan the partitions in range")
+    void testDateFilteredQueries_ShouldPrunePartitions() {
+        SlowQueryLog slowQueryLog = new SlowQueryLog(0, 10, true);
+        DataRetriever retriever = DataRetriever.builder(new DBConnection())
+                .instrumentation(new QueryInstrumentation(new InMemoryMetricsSink(), slowQueryLog)).build();
+        Instant feb1 = LocalDateTime.of(2024, 2, 1, 0, 0).atZone(ZoneId.systemDefault()).toInstant();
+        Instant feb29 = LocalDateTime.of(2024, 2, 29, 0, 0).atZone(ZoneId.systemDefault()).toInstant();
+
+        assertEquals(2, retriever.getProductsByCriteria(null, null, feb1, feb29).size());
+        retriever.countProductsByCriteria("phone", null, feb1, feb29);
+
+        for (SlowQuery query : slowQueryLog.getEntries()) {
+            String plan = query.getPlan();
+            assertTrue(plan.contains("product_p202402"), "February should be scanned: " + plan);
+            assertFalse(plan.contains("product_p202401") || plan.contains("product_p202403"),
+                    "Neighbouring months should be pruned: " + plan);
+            assertFalse(plan.contains("product_default"), "The default partition should be pruned: " + plan);
+        }
+        assertEquals(2, slowQueryLog.getEntries().size());
+    }
+
+    @Test
+    @DisplayName("Test 3: detachPartition should remove the month and archive its categories")
+    void testDetachPartition_ShouldArchiveCategories() throws SQLException {
+        partitionManager.createPartitions(ARCHIVED_MONTH, 0);
+        Product product = new Product(0, PREFIX + "archived", 10.0, Instant.parse("2001-01-15T12:00:00Z"),
+                new Category(0, PREFIX + "category"));
+        new ProductWriter(10).insertProducts(List.of(product));
+
+        assertTrue(partitionManager.detachPartitionsBefore(YearMonth.of(2001, 2)).contains(ARCHIVED_MONTH));
+        assertFalse(partitionManager.listPartitions().contains(ARCHIVED_MONTH));
+        assertFalse(partitionManager.detachPartition(ARCHIVED_MONTH), "A detached month cannot be detached again");
+
+        try (Connection conn = new DBConnection().getDBConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT " +
+                     "(SELECT count(*) FROM product WHERE id = " + product.getId() + "), " +
+                     "(SELECT count(*) FROM product_category WHERE product_id = " + product.getId() + "), " +
+                     "(SELECT count(*) FROM product_category_archive WHERE product_id = " + product.getId() + "), " +
+                     "(SELECT count(*) FROM " + PartitionManager.partitionName(ARCHIVED_MONTH) + ")")) {
+            rs.next();
+            assertEquals(0, rs.getInt(1), "Product should leave the live table");
+            assertEquals(0, rs.getInt(2), "Categories should leave the live table");
+            assertEquals(1, rs.getInt(3), "Categories should be archived");
+            assertEquals(1, rs.getInt(4), "Product should stay in the detached table");
+        }
+    }
+
+    @Test
+    @DisplayName("Test 4: Category rows should still require an existing product")
+    void testCategoryInsert_ShouldRequireProduct() throws SQLException {
+        try (Connection conn = new DBConnection().getDBConnection();
+             Statement stmt = conn.createStatement()) {
+            SQLException e = assertThrows(SQLException.class, () -> stmt.executeUpdate(
+                    "INSERT INTO product_category (name, product_id) VALUES ('" + PREFIX + "orphan', -1)"));
+            assertEquals("23503", e.getSQLState());
+        }
+    }
+
+    @Test
+    @DisplayName("Test 5: Product ids should stay unique across partitions and immutable")
+    void testProductIds_ShouldStayUnique() throws SQLException {
+        Product product = new Product(0, PREFIX + "unique", 10.0, Instant.parse("2024-02-10T12:00:00Z"), null);
+        new ProductWriter(10).insertProducts(List.of(product));
+
+        try (Connection conn = new DBConnection().getDBConnection();
+             Statement stmt = conn.createStatement()) {
+            SQLException duplicate = assertThrows(SQLException.class, () -> stmt.executeUpdate(
+                    "INSERT INTO product (id, name, price, creation_datetime) VALUES (" + product.getId() +
+                            ", '" + PREFIX + "duplicate', 1, '2024-03-10')"));
+            assertEquals("23505", duplicate.getSQLState(), "A second month must not reuse the id");
+
+            SQLException change = assertThrows(SQLException.class, () -> stmt.executeUpdate(
+                    "UPDATE product SET id = -" + product.getId() + " WHERE id = " + product.getId()));
+            assertEquals("23001", change.getSQLState(), "Ids cannot be changed");
+        }
+    }
+
+    @Test
+    @DisplayName("Test 6: A category insert racing a product delete should not leave an orphan")
+    void testCategoryInsert_ShouldNotRaceProductDelete() throws Exception {
+        Product product = new Product(0, PREFIX + "raced", 10.0, Instant.parse("2024-02-10T12:00:00Z"), null);
+        new ProductWriter(10).insertProducts(List.of(product));
+
+        try (Connection deleter = new DBConnection().getDBConnection();
+             Connection inserter = new DBConnection().getDBConnection()) {
+            deleter.setAutoCommit(false);
+            try (Statement stmt = deleter.createStatement()) {
+                stmt.executeUpdate("DELETE FROM product WHERE id = " + product.getId());
+            }
+            CompletableFuture<SQLException> insert = CompletableFuture.supplyAsync(() -> {
+                try (Statement stmt = inserter.createStatement()) {
+                    stmt.executeUpdate("INSERT INTO product_category (name, product_id) VALUES ('" +
+                            PREFIX + "raced', " + product.getId() + ")");
+                    return null;
+                } catch (SQLException e) {
+                    return e;
+                }
+            });
+            Thread.sleep(300);
+            assertFalse(insert.isDone(), "The insert should wait for the delete");
+            deleter.commit();
+
+            SQLException e = insert.get(10, TimeUnit.SECONDS);
+            assertNotNull(e, "The insert should fail once the product is gone");
+            assertEquals("23503", e.getSQLState());
+        }
+    }
+
+    @Test
+    @DisplayName("Test 7: splitDefaultPartition should move default-partition rows into their months")
+    void testSplitDefaultPartition_ShouldMoveRows() throws SQLException {
+        Product product = new Product(0, PREFIX + "backdated", 10.0, Instant.parse("1999-05-20T12:00:00Z"),
+                new Category(0, PREFIX + "category"));
+        new ProductWriter(10).insertProducts(List.of(product));
+
+        assertTrue(partitionManager.splitDefaultPartition().contains(DEFAULT_MONTH));
+        assertTrue(partitionManager.listPartitions().contains(DEFAULT_MONTH), "Month should now be attached");
+        assertTrue(partitionManager.splitDefaultPartition().isEmpty(), "Nothing should be left to move");
+
+        try (Connection conn = new DBConnection().getDBConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT " +
+                     "(SELECT count(*) FROM product_default), " +
+                     "(SELECT count(*) FROM " + PartitionManager.partitionName(DEFAULT_MONTH) + "), " +
+                     "(SELECT count(*) FROM product_category WHERE product_id = " + product.getId() + ")")) {
+            rs.next();
+            assertEquals(0, rs.getInt(1), "Default partition should be empty");
+            assertEquals(1, rs.getInt(2), "Product should be in its month");
+            assertEquals(1, rs.getInt(3), "Categories should be untouched");
+        }
+    }
+
+    @Test
+    @DisplayName("Test 8: Products without a creation date should stay undated in the default partition")
+    void testUndatedProducts_ShouldStayInDefaultPartition() throws SQLException {
+        int id;
+        try (Connection conn = new DBConnection().getDBConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("INSERT INTO product (name, price, creation_datetime) " +
+                     "VALUES ('" + PREFIX + "undated', 10.0, NULL) RETURNING id")) {
+            rs.next();
+            id = rs.getInt(1);
+        }
+
+        assertTrue(partitionManager.splitDefaultPartition().isEmpty(), "Undated rows have no month to move to");
+        try (Connection conn = new DBConnection().getDBConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT tableoid::regclass::text, creation_datetime " +
+                     "FROM product WHERE id = " + id)) {
+            assertTrue(rs.next());
+            assertEquals("product_default", rs.getString(1));
+            assertNull(rs.getTimestamp(2), "The missing creation date should not be filled in");
+        }
+        Product product = new DataRetriever().getProductById(id);
+        assertNotNull(product);
+        assertNull(product.getCreationDateTime());
+    }
+}
@@ -0,0 +1,104 @@
+package com.productmanagement;
+
+import org.junit.jupiter.api.*;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import static org.junit.jupiter.api.Assertions.*;
+
+// The same local server under two host names stands in for two replicas; an unused port
+// stands in for one that is down.
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReplicaRouterTest {
+    private static final String DOWN_URL = "jdbc:postgresql://localhost:1/product_management_db";
+
+    private Properties connectionProps;
+    private String primaryUrl;
+    private String aliasUrl;
+    private final List<ReplicaRouter> routers = new ArrayList<>();
+
+    @BeforeAll
+    void setUp() throws SQLException {
+        Properties props = DBConnection.loadProperties();
+        connectionProps = new Properties();
+        connectionProps.setProperty("user", props.getProperty("db.username"));
+        connectionProps.setProperty("password", props.getProperty("db.password"));
+        primaryUrl = props.getProperty("db.url");
+        aliasUrl = primaryUrl.replace("localhost", "127.0.0.1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        routers.forEach(ReplicaRouter::close);
+        routers.clear();
+    }
+
+    @Test
+    @DisplayName("Test 1: Reads should alternate between healthy replicas")
+    void testGetConnection_ShouldRoundRobin() throws SQLException {
+        ReplicaRouter router = router(List.of(primaryUrl, aliasUrl), 5000);
+        router.checkHealth();
+
+        for (int i = 0; i < 4; i++) {
+            try (Connection connection = router.getConnection()) {
+                assertNotNull(connection, "A healthy replica should serve the read");
+            }
+        }
+
+        for (ReplicaStatus status : router.getStatus()) {
+            assertTrue(status.isEligible(), status.toString());
+            assertEquals(0, status.getLagMillis(), "A server that is not a standby has no lag");
+            assertEquals(2, status.getRoutedConnections(), "Reads should be spread evenly");
+        }
+    }
+
+    @Test
+    @DisplayName("Test 2: A replica failing its health check should be skipped")
+    void testGetConnection_ShouldSkipUnhealthyReplica() throws SQLException {
+        ReplicaRouter router = router(List.of(DOWN_URL, aliasUrl), 5000);
+        router.checkHealth();
+
+        for (int i = 0; i < 3; i++) {
+            try (Connection connection = router.getConnection()) {
+                assertNotNull(connection);
+            }
+        }
+
+        assertFalse(router.getStatus().get(0).isHealthy(), "Unreachable replica should be unhealthy");
+        assertEquals(0, router.getStatus().get(0).getRoutedConnections());
+        assertEquals(3, router.getStatus().get(1).getRoutedConnections());
+        assertEquals(0, router.getPrimaryFallbackCount());
+    }
+
+    @Test
+    @DisplayName("Test 3: Without an eligible replica reads should fall back to the primary")
+    void testGetConnection_ShouldFallBackToPrimary() {
+        ReplicaRouter down = router(List.of(DOWN_URL), 5000);
+        down.checkHealth();
+        assertNull(down.getConnection(), "No healthy replica should mean a primary read");
+        assertEquals(1, down.getPrimaryFallbackCount());
+
+        ReplicaRouter unchecked = router(List.of(aliasUrl), 5000);
+        assertNull(unchecked.getConnection(), "Replicas should not serve reads before their first check");
+    }
+
+    @Test
+    @DisplayName("Test 4: getReadConnection should return a read-only connection")
+    void testGetReadConnection_ShouldBeReadOnly() throws SQLException {
+        try (Connection connection = new DBConnection().getReadConnection()) {
+            assertTrue(connection.isReadOnly(), "Read connections should be marked read-only");
+        }
+        try (Connection connection = new DBConnection().getDBConnection()) {
+            assertFalse(connection.isReadOnly(), "Returned connections should be reset for writers");
+        }
+    }
+
+    private ReplicaRouter router(List<String> urls, long maxLagMillis) {
+        ReplicaRouter router = new ReplicaRouter(urls, connectionProps,
+                url -> new ConnectionPool(url, connectionProps, 0, 2, 1000, 60000, 0, 2), maxLagMillis, 0);
+        routers.add(router);
+        return router;
+    }
+}
@@ -0,0 +1,44 @@
+package com.productmanagement;
+
+import org.junit.jupiter.api.*;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SchemaMigratorTest {
+    private SchemaMigrator schemaMigrator;
+
+    @BeforeAll
+    void setUp() {
+        schemaMigrator = new SchemaMigrator();
+    }
+
+    @Test
+    @DisplayName("Test 1: migrate should be idempotent")
+    void testMigrate_ShouldBeIdempotent() throws SQLException {
+        schemaMigrator.migrate();
+        int version = schemaMigrator.getCurrentVersion();
+
+        assertEquals(0, schemaMigrator.migrate(), "Second run should apply nothing");
+        assertEquals(version, schemaMigrator.getCurrentVersion(), "Version should not change");
+        assertTrue(version >= 2, "Search index migration should be applied");
+    }
+
+    @Test
+    @DisplayName("Test 2: Search indexes should exist after migration")
+    void testMigrate_ShouldCreateSearchIndexes() throws SQLException {
+        schemaMigrator.migrate();
+
+        try (Connection conn = new DBConnection().getDBConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT count(*) FROM pg_indexes WHERE indexname IN (" +
+                     "'idx_product_category_product_id', 'idx_product_creation_datetime', " +
+                     "'idx_product_name_trgm', 'idx_product_category_name_trgm')")) {
+            rs.next();
+            assertEquals(4, rs.getInt(1), "All search indexes should exist");
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.productmanagement.dao;
+
+import com.productmanagement.model.Category;
+import com.productmanagement.model.Product;
+import org.junit.jupiter.api.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AsyncDataRetrieverTest {
+    private AsyncDataRetriever asyncRetriever;
+
+    @BeforeAll
+    void setUp() {
+        asyncRetriever = new AsyncDataRetriever(new DataRetriever(), 2);
+    }
+
+    @AfterAll
+    void tearDown() {
+        asyncRetriever.close();
+    }
+
+    @Test
+    @DisplayName("Test 1: Fanned-out lookups should return the same data as the blocking API")
+    void testFanOut_ShouldMatchBlockingResults() {
+        CompletableFuture<List<Category>> categories = asyncRetriever.getAllCategories();
+        CompletableFuture<List<Product>> page = asyncRetriever.getProductsByCriteria(null, "info", null, null, 1, 10);
+
+        CompletableFuture.allOf(categories, page).join();
+
+        assertEquals(7, categories.join().size(), "Should have 7 categories");
+        assertEquals(2, page.join().size(), "Should find 2 products in 'informatique' category");
+    }
+
+    @Test
+    @DisplayName("Test 2: Many in-flight requests should complete within the concurrency limit")
+    void testManyRequests_ShouldCompleteUnderLimit() {
+        List<CompletableFuture<List<Product>>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(asyncRetriever.getProductList(1 + i % 3, 2));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+
+        assertEquals(2, futures.get(0).join().size(), "First page should have 2 products");
+        assertEquals(1, futures.get(2).join().size(), "Third page should have 1 product");
+        assertEquals(2, asyncRetriever.getAvailablePermits(), "All permits should be released");
+    }
+}
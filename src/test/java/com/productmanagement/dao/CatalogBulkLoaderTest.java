@@ -0,0 +1,109 @@
+package com.productmanagement.dao;
+
+import com.productmanagement.DBConnection;
+import com.productmanagement.model.Product;
+import org.junit.jupiter.api.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CatalogBulkLoaderTest {
+    private static final String PREFIX = "CopyTest ";
+
+    private CatalogBulkLoader bulkLoader;
+    private DataRetriever dataRetriever;
+
+    @BeforeAll
+    void setUp() {
+        bulkLoader = new CatalogBulkLoader();
+        dataRetriever = new DataRetriever();
+    }
+
+    @AfterEach
+    void cleanUp() throws SQLException {
+        try (Connection conn = new DBConnection().getDBConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM product WHERE name LIKE '" + PREFIX + "%'");
+        }
+        dataRetriever.invalidateCategoryCache();
+    }
+
+    @Test
+    @DisplayName("Test 1: CSV import should remap categories to newly inserted products")
+    void testImportCsv_ShouldRemapCategories() throws SQLException, IOException {
+        InputStream products = csv("source_id,name,price,creation_datetime\n" +
+                "100," + PREFIX + "Tablet,300.00,2024-05-01 10:00:00\n" +
+                "101," + PREFIX + "Router,80.50,2024-05-02 11:00:00\n");
+        InputStream categories = csv("source_id,name,source_product_id\n" +
+                "1,CopyMobile,100\n" +
+                "2,CopyNetwork,101\n" +
+                "3,CopyOrphan,999\n");
+
+        CopyResult result = bulkLoader.importCatalog(products, categories, CatalogBulkLoader.Format.CSV);
+
+        assertEquals(2, result.getProductRows(), "Should load 2 products");
+        assertEquals(2, result.getCategoryRows(), "Should attach 2 categories");
+        assertEquals(1, result.getSkippedCategoryRows(), "Should skip the orphan category");
+
+        List<Product> tablets = dataRetriever.getProductsByCriteria(PREFIX + "Tablet", "CopyMobile", null, null);
+        assertEquals(1, tablets.size(), "Tablet should carry its remapped category");
+        assertNotEquals(100, tablets.getFirst().getId(), "Product should get a fresh ID");
+    }
+
+    @Test
+    @DisplayName("Test 2: CSV export should contain the seeded products")
+    void testExportProducts_ShouldContainSeedData() throws SQLException, IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        CopyResult result = bulkLoader.exportProducts(out, CatalogBulkLoader.Format.CSV);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertTrue(result.getProductRows() >= 5, "Should export at least the 5 seeded products");
+        assertTrue(csv.startsWith("id,name,price,creation_datetime"), "Should start with a header");
+        assertTrue(csv.contains("Laptop Dell XPS"), "Should contain seeded product names");
+    }
+
+    @Test
+    @DisplayName("Test 3: Binary export should round-trip through import")
+    void testBinaryRoundTrip() throws SQLException, IOException {
+        bulkLoader.importCatalog(csv("source_id,name,price,creation_datetime\n" +
+                "1," + PREFIX + "Binary,12.34,2024-05-03 12:00:00\n"), null, CatalogBulkLoader.Format.CSV);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bulkLoader.exportProducts(out, CatalogBulkLoader.Format.BINARY);
+        // The re-import copies every product in the database, not only this test's, so its rows
+        // are told apart by id; everything present before it is left alone.
+        int lastIdBeforeImport;
+        try (Connection conn = new DBConnection().getDBConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT coalesce(max(id), 0) FROM product")) {
+            rs.next();
+            lastIdBeforeImport = rs.getInt(1);
+        }
+
+        try {
+            CopyResult result = bulkLoader.importCatalog(new ByteArrayInputStream(out.toByteArray()), null,
+                    CatalogBulkLoader.Format.BINARY);
+
+            assertTrue(result.getProductRows() >= 6, "Should re-import every exported product");
+            assertEquals(2, dataRetriever.getProductsByCriteria(PREFIX + "Binary", null, null, null).size());
+        } finally {
+            try (Connection conn = new DBConnection().getDBConnection();
+                 Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("DELETE FROM product WHERE id > " + lastIdBeforeImport);
+            }
+        }
+    }
+
+    private InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
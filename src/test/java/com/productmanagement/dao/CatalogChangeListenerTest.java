@@ -0,0 +1,131 @@
+package com.productmanagement.dao;
+
+import com.productmanagement.DBConnection;
+import com.productmanagement.SchemaMigrator;
+import com.productmanagement.model.Category;
+import com.productmanagement.model.Product;
+import org.junit.jupiter.api.*;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CatalogChangeListenerTest {
+    private static final String PREFIX = "ChangeFeedTest ";
+
+    private CatalogChangeListener listener;
+    private final LinkedBlockingQueue<CatalogChange> received = new LinkedBlockingQueue<>();
+
+    @BeforeAll
+    void setUp() throws Exception {
+        new SchemaMigrator().migrate();
+        listener = new CatalogChangeListener(20, 1000, 200);
+        listener.subscribe(received::addAll);
+        listener.start();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!listener.isListening() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(listener.isListening(), "Listener should connect");
+    }
+
+    @AfterAll
+    void tearDown() throws SQLException {
+        listener.close();
+        try (Connection conn = new DBConnection().getDBConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM product WHERE name LIKE '" + PREFIX + "%'");
+        }
+    }
+
+    @Test
+    @DisplayName("Test 1: Row changes should reach subscribers in batches")
+    void testChanges_ShouldBeDelivered() throws Exception {
+        received.clear();
+        Product product = new Product(0, PREFIX + "tracked", 3.0, null, new Category(0, "ChangeFeedCategory"));
+        new ProductWriter(10).insertProducts(List.of(product));
+
+        List<CatalogChange> inserts = awaitChanges(2);
+        assertTrue(inserts.stream().anyMatch(c -> "product".equals(c.getTable())
+                && c.getOperation() == CatalogChange.Operation.INSERT && c.getProductId() == product.getId()),
+                "Product insert should be published");
+        assertTrue(inserts.stream().anyMatch(c -> "product_category".equals(c.getTable())
+                && c.getProductId() == product.getId()), "Category insert should carry its product id");
+
+        try (Connection conn = new DBConnection().getDBConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM product WHERE id = " + product.getId());
+        }
+        List<CatalogChange> deletes = awaitChanges(2);
+        assertTrue(deletes.stream().allMatch(c -> c.getOperation() == CatalogChange.Operation.DELETE),
+                "Cascaded delete should publish delete events");
+        assertTrue(listener.getBatchCount() <= listener.getNotificationCount(), "Events should be batched");
+    }
+
+    @Test
+    @DisplayName("Test 2: Malformed payloads should be rejected")
+    void testParse_ShouldRejectMalformedPayload() {
+        assertEquals(CatalogChange.Operation.UPDATE, CatalogChange.parse("product:U:7").getFirst().getOperation());
+        assertEquals(List.of(3, 5, 8), CatalogChange.parse("product_category:D:3,5,8").stream()
+                .map(CatalogChange::getProductId).toList());
+        assertTrue(CatalogChange.parse("resync").getFirst().isResync());
+        assertThrows(IllegalArgumentException.class, () -> CatalogChange.parse("product:X:7"));
+        assertThrows(IllegalArgumentException.class, () -> CatalogChange.parse("product:U:7,x"));
+        assertThrows(IllegalArgumentException.class, () -> CatalogChange.parse("garbage"));
+    }
+
+    @Test
+    @DisplayName("Test 3: A statement should publish its distinct products once, or a resync when large")
+    void testStatementLevelNotifications() throws Exception {
+        received.clear();
+        long notificationsBefore = listener.getNotificationCount();
+        try (Connection conn = new DBConnection().getDBConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("INSERT INTO product (name, price) SELECT '" + PREFIX + "batch ' || n, 1.0 " +
+                    "FROM generate_series(1, 3) n");
+        }
+        List<CatalogChange> inserts = awaitChanges(3);
+        assertEquals(1, listener.getNotificationCount() - notificationsBefore,
+                "Three rows inserted by one statement should share one notification");
+        assertEquals(3, inserts.stream().map(CatalogChange::getProductId).distinct().count());
+
+        received.clear();
+        try (Connection conn = new DBConnection().getDBConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("INSERT INTO product (name, price) SELECT '" + PREFIX + "bulk ' || n, 1.0 " +
+                    "FROM generate_series(1, 1001) n");
+        }
+        assertTrue(awaitChanges(1).getFirst().isResync(), "Over a thousand products should publish a resync");
+    }
+
+    @Test
+    @DisplayName("Test 4: Subscribers should get a resync as soon as a listener starts listening")
+    void testFirstListen_ShouldDispatchResync() throws Exception {
+        LinkedBlockingQueue<CatalogChange> changes = new LinkedBlockingQueue<>();
+        try (CatalogChangeListener fresh = new CatalogChangeListener(20, 1000, 200)) {
+            fresh.subscribe(changes::addAll);
+            fresh.start();
+            CatalogChange first = changes.poll(5, TimeUnit.SECONDS);
+            assertNotNull(first, "A resync should be dispatched after the first LISTEN");
+            assertTrue(first.isResync());
+        }
+    }
+
+    private List<CatalogChange> awaitChanges(int count) throws InterruptedException {
+        List<CatalogChange> changes = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (changes.size() < count) {
+            CatalogChange change = received.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (change == null) {
+                fail("Timed out waiting for catalog changes, got " + changes);
+            }
+            changes.add(change);
+        }
+        return changes;
+    }
+}
@@ -0,0 +1,35 @@
+package com.productmanagement.dao;
+
+import com.productmanagement.model.Category;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CategoryInternerTest {
+
+    @Test
+    @DisplayName("Test 1: Equal names should be shared while every category stays a distinct instance")
+    void testNewCategory_ShouldShareNamesOnly() {
+        CategoryInterner interner = new CategoryInterner(10);
+
+        Category first = interner.newCategory(1, "Informatique");
+        Category second = interner.newCategory(2, new String("Informatique"));
+        Category again = interner.newCategory(1, "Informatique");
+
+        assertNotSame(first, again, "Every hand-out should be its own instance");
+        assertSame(first.getName(), second.getName(), "Equal names should share one String");
+
+        again.setId(42);
+        assertEquals(1, first.getId(), "Modifying one hand-out must not affect another");
+    }
+
+    @Test
+    @DisplayName("Test 2: The interner should stay bounded")
+    void testInternName_ShouldStayBounded() {
+        CategoryInterner interner = new CategoryInterner(2);
+
+        interner.internName("Audio");
+        interner.internName("Mobile");
+        interner.internName("Bureau");
+        assertTrue(interner.size() <= 2, "Interner should not grow past its bound");
+    }
+}
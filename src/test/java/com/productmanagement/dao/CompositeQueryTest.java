@@ -0,0 +1,46 @@
+package com.productmanagement.dao;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CompositeQueryTest {
+    private AsyncDataRetriever asyncRetriever;
+    private DataRetriever dataRetriever;
+
+    @BeforeAll
+    void setUp() {
+        dataRetriever = new DataRetriever();
+        asyncRetriever = new AsyncDataRetriever(dataRetriever, 4);
+    }
+
+    @AfterAll
+    void tearDown() {
+        asyncRetriever.close();
+    }
+
+    @Test
+    @DisplayName("Test 1: Catalog page queries should run together and report timings")
+    void testCatalogPage_ShouldCombineResults() {
+        CompositeQuery.CompositeResult result = new CompositeQuery(asyncRetriever, dataRetriever)
+                .categories("categories")
+                .productsByCriteria("page", null, "info", null, null, 1, 1)
+                .count("total", null, "info", null, null)
+                .execute();
+
+        assertEquals(7, result.getCategories("categories").size(), "Should have 7 categories");
+        assertEquals(1, result.getProducts("page").size(), "Page should hold 1 product");
+        assertEquals(2, result.getCount("total"), "Total should count every match");
+        assertTrue(result.getElapsedMillis("page") <= result.getTotalMillis(),
+                "A single query cannot take longer than the whole composite");
+    }
+
+    @Test
+    @DisplayName("Test 2: Duplicate and unknown query names should be rejected")
+    void testQueryNames_ShouldBeValidated() {
+        CompositeQuery query = new CompositeQuery(asyncRetriever, dataRetriever).categories("categories");
+
+        assertThrows(IllegalArgumentException.class, () -> query.categories("categories"));
+        assertThrows(IllegalArgumentException.class, () -> query.execute().getProducts("missing"));
+    }
+}
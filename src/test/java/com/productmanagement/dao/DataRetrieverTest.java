@@ -1,12 +1,23 @@
 package com.productmanagement.dao;
 
+import com.productmanagement.DBConnection;
+import com.productmanagement.metrics.InMemoryMetricsSink;
+import com.productmanagement.metrics.QueryInstrumentation;
+import com.productmanagement.metrics.QueryStats;
+import com.productmanagement.metrics.SlowQuery;
+import com.productmanagement.metrics.SlowQueryLog;
 import com.productmanagement.model.Category;
 import com.productmanagement.model.Product;
 import org.junit.jupiter.api.*;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 import static org.junit.jupiter.api.Assertions.*;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -252,6 +263,285 @@ class DataRetrieverTest {
         assertTrue(products.isEmpty(), "Should return empty list for non-existent product");
     }
 
+    @Test
+    @DisplayName("Test 21: Keyset pages should walk all products in id order")
+    void testGetProductPage_ShouldWalkAllProducts() {
+        ProductPage first = dataRetriever.getProductPage(null, 2);
+        assertEquals(List.of(1, 2), first.getProducts().stream().map(Product::getId).toList());
+        assertTrue(first.hasNext(), "First page should have a continuation cursor");
+
+        ProductPage second = dataRetriever.getProductPage(first.getNextCursor(), 2);
+        assertEquals(List.of(3, 4), second.getProducts().stream().map(Product::getId).toList());
+
+        ProductPage last = dataRetriever.getProductPage(second.getNextCursor(), 2);
+        assertEquals(List.of(5), last.getProducts().stream().map(Product::getId).toList());
+        assertFalse(last.hasNext(), "Last page should not have a continuation cursor");
+    }
+
+    @Test
+    @DisplayName("Test 22: Keyset pages should apply criteria filters")
+    void testGetProductsByCriteriaPage_ShouldApplyFilters() {
+        ProductPage first = dataRetriever.getProductsByCriteriaPage(null, "informatique", null, null, null, 1);
+        assertEquals(1, first.getProducts().getFirst().getId(), "First match should be ID 1");
+        assertTrue(first.hasNext(), "Should have a second match");
+
+        ProductPage second = dataRetriever.getProductsByCriteriaPage(null, "informatique", null, null,
+                first.getNextCursor(), 1);
+        assertEquals(5, second.getProducts().getFirst().getId(), "Second match should be ID 5");
+        assertFalse(second.hasNext(), "Should have no further matches");
+    }
+
+    @Test
+    @DisplayName("Test 23: Malformed cursor should be rejected")
+    void testGetProductPage_InvalidCursor_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> dataRetriever.getProductPage("not-a-cursor", 2));
+    }
+
+    @Test
+    @DisplayName("Test 24: Streaming with a small fetch size should return all matches in order")
+    void testStreamProductsByCriteria_ShouldReturnAllMatches() {
+        List<Integer> ids;
+        try (Stream<Product> stream = dataRetriever.streamProductsByCriteria(null, null, null, null, 2)) {
+            ids = stream.map(Product::getId).toList();
+        }
+
+        assertEquals(List.of(1, 2, 3, 4, 5), ids, "Should stream all products ordered by ID");
+    }
+
+    @Test
+    @DisplayName("Test 25: Streaming should apply criteria filters")
+    void testStreamProductsByCriteria_ShouldApplyFilters() {
+        try (Stream<Product> stream = dataRetriever.streamProductsByCriteria(null, "info", null, null, 1)) {
+            assertEquals(2, stream.count(), "Should stream 2 products in 'informatique' category");
+        }
+    }
+
+    @Test
+    @DisplayName("Test 26: Repeated getAllCategories should be served from the category cache")
+    void testGetAllCategories_ShouldUseCache() {
+        dataRetriever.invalidateCategoryCache();
+        dataRetriever.getAllCategories();
+        long hitsBefore = dataRetriever.getCategoryCacheStats().getHitCount();
+
+        List<Category> categories = dataRetriever.getAllCategories();
+
+        assertEquals(7, categories.size(), "Cached listing should still have 7 categories");
+        assertEquals(hitsBefore + 1, dataRetriever.getCategoryCacheStats().getHitCount(),
+                "Second listing should be a cache hit");
+    }
+
+    @Test
+    @DisplayName("Test 27: countProductsByCriteria should count all matches")
+    void testCountProductsByCriteria_ShouldCountAllMatches() {
+        assertEquals(5, dataRetriever.countProductsByCriteria(null, null, null, null), "Should count all products");
+        assertEquals(2, dataRetriever.countProductsByCriteria(null, "info", null, null),
+                "Should count 2 products in 'informatique' category");
+    }
+
+    @Test
+    @DisplayName("Test 28: getProductFacets should count categories and histograms in one pass")
+    void testGetProductFacets_ShouldCountFacets() {
+        ProductFacets facets = dataRetriever.getProductFacets(null, "info", null, null);
+
+        assertEquals(2, facets.getTotalCount(), "Should match 2 products in 'informatique' category");
+        assertFalse(facets.isEstimated(), "Exact facets should not be flagged as estimated");
+        assertEquals(2L, facets.getCategoryCounts().get("Informatique"), "Both matches are in Informatique");
+        assertEquals(1L, facets.getCategoryCounts().get("Bureau"), "Only the monitor is also in Bureau");
+        assertEquals(2L, facets.getPriceHistogram().values().stream().mapToLong(Long::longValue).sum(),
+                "Price buckets should cover every match");
+        assertEquals(1L, facets.getPriceHistogram().get(4500.0), "Laptop should fall in the 4500 bucket");
+        assertEquals(2, facets.getCreationHistogram().size(), "Matches were created in 2 different months");
+    }
+
+    @Test
+    @DisplayName("Test 29: Fast mode should sample once the planner estimate exceeds the threshold")
+    void testGetProductFacets_FastMode_ShouldBeEstimated() {
+        FacetOptions options = new FacetOptions();
+        options.setFastMode(true);
+        options.setEstimateThreshold(1);
+
+        assertTrue(dataRetriever.getProductFacets(null, null, null, null, options).isEstimated(),
+                "Facets above the threshold should be flagged as estimated");
+    }
+
+    @Test
+    @DisplayName("Test 30: Products should carry structured categories with shared names")
+    void testGetProductsByCriteria_ShouldReturnStructuredCategories() {
+        Product monitor = dataRetriever.getProductsByCriteria("Samsung", null, null, null).getFirst();
+
+        assertEquals(List.of("Informatique", "Bureau"),
+                monitor.getCategories().stream().map(Category::getName).toList(),
+                "Monitor should list both categories in insertion order");
+        assertTrue(monitor.getCategories().stream().allMatch(category -> category.getId() > 0),
+                "Categories should carry their row ids");
+
+        Product again = dataRetriever.getProductList(1, 10).getLast();
+        assertNotSame(monitor.getCategories().getFirst(), again.getCategories().getFirst(),
+                "Each read should get its own Category instances");
+        assertSame(monitor.getCategories().getFirst().getName(), again.getCategories().getFirst().getName(),
+                "Repeated reads should share the interned category name");
+    }
+
+    @Test
+    @DisplayName("Test 31: Repeated criteria shapes should reuse SQL templates and server-prepared plans")
+    void testRepeatedCriteria_ShouldReuseTemplatesAndPlans() {
+        DataRetriever retriever = new DataRetriever();
+        for (int i = 0; i < 8; i++) {
+            retriever.getProductsByCriteria("a", null, null, null, 1, 2);
+        }
+        retriever.getProductsByCriteria("e", null, null, null, 1, 3);
+
+        StatementStats stats = retriever.getStatementStats();
+        assertEquals(1, stats.getTemplateCount(), "Same filter shape should share one SQL template");
+        assertEquals(8, stats.getTemplateHits(), "Only the first call should build SQL");
+        assertTrue(stats.getServerPreparedCount() > 0, "Statement should switch to a server-prepared plan");
+    }
+
+    @Test
+    @DisplayName("Test 32: Calls should be recorded per method and shape, with slow queries explained")
+    void testInstrumentation_ShouldRecordMetricsAndSlowQueries() {
+        InMemoryMetricsSink sink = new InMemoryMetricsSink();
+        SlowQueryLog slowQueryLog = new SlowQueryLog(0, 10, true);
+        DataRetriever retriever = DataRetriever.builder(new DBConnection())
+                .instrumentation(new QueryInstrumentation(sink, slowQueryLog)).build();
+
+        List<Product> products = retriever.getProductsByCriteria("dell", null, null, null);
+        retriever.getProductsByCriteria("sam", null, null, null);
+        retriever.countProductsByCriteria(null, "audio", feb1, null);
+
+        QueryStats stats = sink.getStats("getProductsByCriteria", "name");
+        assertNotNull(stats, "Criteria calls should be tagged by filter shape");
+        assertEquals(2, stats.getCount());
+        assertEquals(products.size() + 1, stats.getRowsReturned(), "Rows from both calls should be counted");
+        assertTrue(stats.getBytesMapped() > 0, "Mapped bytes should be estimated");
+        assertTrue(stats.getMaxLatencyMillis() >= stats.getP50LatencyMillis());
+        assertEquals(0, stats.getErrorCount());
+        assertNotNull(sink.getStats("countProductsByCriteria", "category+creationMin"));
+
+        List<SlowQuery> slow = slowQueryLog.getEntries();
+        assertEquals(3, slow.size(), "A zero threshold should log every database query");
+        assertTrue(slow.getFirst().getSql().contains("ILIKE ?"), "Log should keep the parameterized SQL");
+        assertTrue(slow.getFirst().getPlan().contains("Scan"), "Log should carry the EXPLAIN plan");
+    }
+
+    @Test
+    @DisplayName("Test 33: getProductsByIds should keep request order, report missing ids and cache hits")
+    void testGetProductsByIds_ShouldPreserveOrderAndReportMissing() {
+        ProductByIdCache cache = new ProductByIdCache(10, 60000);
+        DataRetriever retriever = DataRetriever.builder(new DBConnection())
+                .instrumentation(QueryInstrumentation.disabled()).productByIdCache(cache).build();
+
+        ProductLookup lookup = retriever.getProductsByIds(List.of(5, 999999, 2, 5, 1));
+        assertEquals(List.of(5, 2, 1), lookup.getProducts().stream().map(Product::getId).toList(),
+                "Products should follow the first occurrence of each id");
+        assertEquals(List.of(999999), lookup.getMissingIds());
+        assertEquals(List.of("Informatique", "Bureau"),
+                lookup.getProducts().getFirst().getCategories().stream().map(Category::getName).toList());
+
+        lookup.getProducts().get(1).setName("Changed by caller");
+        Product cached = retriever.getProductById(2);
+        assertEquals(1, cache.getStats().getHitCount(), "Second lookup should be served from the id cache");
+        assertNotSame(lookup.getProducts().get(1), cached, "Cache hits should be copies");
+        assertNotEquals("Changed by caller", cached.getName(), "Callers should not modify the cached product");
+        cached.getCategories().getFirst().setName("Changed too");
+        assertNotEquals("Changed too", retriever.getProductById(2).getCategories().getFirst().getName());
+        assertNull(retriever.getProductById(999999), "Missing ids should not be cached as hits");
+    }
+
+    @Test
+    @DisplayName("Test 34: getProductsByIds should span several chunks for large id lists")
+    void testGetProductsByIds_ShouldChunkLargeInputs() {
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 2500; id >= 1; id--) {
+            ids.add(id);
+        }
+
+        ProductLookup lookup = dataRetriever.getProductsByIds(ids);
+
+        assertEquals(2500, lookup.getProducts().size() + lookup.getMissingIds().size());
+        assertEquals(List.of(5, 4, 3, 2, 1), lookup.getProducts().stream().map(Product::getId)
+                .filter(id -> id <= 5).toList(), "Seed products should come back in request order");
+        assertTrue(dataRetriever.getProductsByIds(List.of()).getProducts().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test 35: visitProductsByCriteria should expose the same rows as getProductsByCriteria")
+    void testVisitProductsByCriteria_ShouldMatchMaterializedRows() {
+        List<Product> expected = dataRetriever.getProductsByCriteria(null, null, null, mar1);
+        List<Product> visited = new ArrayList<>();
+        List<ProductRow> rows = new ArrayList<>();
+
+        long count = dataRetriever.visitProductsByCriteria(null, null, null, mar1, 2, row -> {
+            rows.add(row);
+            Product product = row.toProduct();
+            assertEquals(product.getCreationDateTime().toEpochMilli() * 1000, row.getCreationEpochMicros());
+            if (row.getCategoryCount() > 0) {
+                assertSame(row.getCategory(0).getName(), product.getCategories().getFirst().getName(),
+                        "Category names should be interned");
+            }
+            visited.add(product);
+        });
+
+        assertEquals(expected.size(), count);
+        assertEquals(expected.stream().map(Product::getId).toList(), visited.stream().map(Product::getId).toList());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getName(), visited.get(i).getName());
+            assertEquals(expected.get(i).getPrice(), visited.get(i).getPrice());
+            assertEquals(expected.get(i).getCreationDateTime(), visited.get(i).getCreationDateTime());
+            assertEquals(expected.get(i).getCategoryName(), visited.get(i).getCategoryName());
+        }
+        assertTrue(rows.stream().allMatch(row -> row == rows.getFirst()), "Every row should reuse one flyweight");
+    }
+
+    @Test
+    @DisplayName("Test 36: ProductWriter should evict the written products from the shared id cache")
+    void testProductWriter_ShouldEvictProductByIdCache() throws SQLException {
+        DataRetriever retriever = DataRetriever.builder(new DBConnection())
+                .productByIdCache(ProductByIdCache.shared()).build();
+        retriever.getProductById(3);
+        try {
+            new ProductWriter(10).insertCategories(3, List.of(new Category(0, "IdCacheTest")));
+
+            assertTrue(retriever.getProductById(3).getCategories().stream()
+                    .anyMatch(category -> category.getName().equals("IdCacheTest")),
+                    "The lookup after the write should not be served from the stale cache entry");
+        } finally {
+            try (Connection conn = new DBConnection().getDBConnection();
+                 Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("DELETE FROM product_category WHERE name = 'IdCacheTest'");
+            }
+            ProductByIdCache.shared().invalidate(3);
+        }
+    }
+
+    @Test
+    @DisplayName("Test 37: A failing snapshot should be recorded as an error and fall back to the database")
+    void testSnapshotFailure_ShouldFailTraceAndFallBack() {
+        InMemoryMetricsSink sink = new InMemoryMetricsSink();
+        ProductSnapshot brokenSnapshot = new ProductSnapshot(100) {
+            @Override
+            public List<Product> getProductList(int page, int size) throws SQLException {
+                throw new SQLException("snapshot unavailable");
+            }
+
+            @Override
+            public List<Product> getProductsByCriteria(String productName, String categoryName,
+                                                       Instant creationMin, Instant creationMax,
+                                                       int page, int size) throws SQLException {
+                throw new SQLException("snapshot unavailable");
+            }
+        };
+        DataRetriever retriever = DataRetriever.builder(new DBConnection()).snapshot(brokenSnapshot)
+                .instrumentation(new QueryInstrumentation(sink, new SlowQueryLog(60000, 10, false))).build();
+
+        assertEquals(dataRetriever.getProductList(1, 3).size(), retriever.getProductList(1, 3).size());
+        assertEquals(dataRetriever.getProductsByCriteria("dell", null, null, null).size(),
+                retriever.getProductsByCriteria("dell", null, null, null).size());
+
+        assertEquals(1, sink.getStats("getProductList", "none").getErrorCount());
+        assertEquals(1, sink.getStats("getProductsByCriteria", "name").getErrorCount());
+    }
+
     @AfterEach
     void printTestEnd(TestInfo testInfo) {
         System.out.println("Finished test: " + testInfo.getDisplayName());
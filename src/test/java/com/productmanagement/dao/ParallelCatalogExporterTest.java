@@ -0,0 +1,127 @@
+package com.productmanagement.dao;
+
+import com.productmanagement.DBConnection;
+import com.productmanagement.model.Product;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ParallelCatalogExporterTest {
+    private static final String PREFIX = "ExportTest ";
+
+    private DataRetriever dataRetriever;
+    private ParallelCatalogExporter exporter;
+
+    @BeforeAll
+    void setUp() {
+        dataRetriever = new DataRetriever();
+        // Tiny fetch size and several ranges per worker so even the seed data spans many ranges
+        exporter = new ParallelCatalogExporter(dataRetriever, new DBConnection(), 3, 2, 2);
+    }
+
+    @AfterEach
+    void cleanUp() throws SQLException {
+        try (Connection conn = new DBConnection().getDBConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM product WHERE name LIKE '" + PREFIX + "%'");
+        }
+    }
+
+    @Test
+    @DisplayName("Test 1: Ordered export should match the unpaginated criteria query")
+    void testExportOrderedMatchesCriteriaQuery() throws SQLException {
+        List<Integer> expected = dataRetriever.getProductsByCriteria(null, null, null, null).stream()
+                .map(Product::getId).collect(Collectors.toList());
+        List<Integer> exported = new ArrayList<>();
+        List<ExportProgress> reports = new ArrayList<>();
+
+        ExportProgress result = exporter.exportOrdered(ProductCriteria.of(null, null, null, null, 0, 0),
+                product -> exported.add(product.getId()), reports::add);
+
+        assertEquals(expected, exported);
+        assertEquals(expected.size(), result.getRows());
+        assertTrue(result.isDone());
+        assertEquals(result.getRangesTotal(), exporter.splitIdRange().size());
+        assertFalse(reports.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test 2: Ordered export should apply the criteria filters to every range")
+    void testExportOrderedAppliesFilters() throws SQLException {
+        List<Integer> expected = dataRetriever.getProductsByCriteria(null, "Informatique", null, null).stream()
+                .map(Product::getId).collect(Collectors.toList());
+        List<Integer> exported = new ArrayList<>();
+
+        exporter.exportOrdered(ProductCriteria.of(null, "Informatique", null, null, 0, 0),
+                product -> exported.add(product.getId()), null);
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, exported);
+    }
+
+    @Test
+    @DisplayName("Test 3: File export should write every product once across the range files")
+    void testExportToFiles(@TempDir Path directory) throws SQLException, IOException {
+        int expected = dataRetriever.getProductsByCriteria(null, null, null, null).size();
+
+        ExportProgress result = exporter.exportToFiles(ProductCriteria.of(null, null, null, null, 0, 0),
+                directory, null);
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.sorted().collect(Collectors.toList());
+        }
+        assertEquals(result.getRangesTotal(), files.size());
+        long rows = 0;
+        for (Path file : files) {
+            List<String> lines = Files.readAllLines(file);
+            assertEquals("id,name,price,creation_datetime,categories", lines.getFirst());
+            rows += lines.size() - 1;
+        }
+        assertEquals(expected, rows);
+        assertEquals(expected, result.getRows());
+        assertTrue(result.isDone());
+    }
+
+    @Test
+    @DisplayName("Test 4: Every range should read the snapshot taken when the export started")
+    void testExport_ShouldReadOneSnapshot() throws SQLException {
+        Product tracked = new Product(0, PREFIX + "original", 1.0, Instant.now(), null);
+        new ProductWriter(10).insertProducts(List.of(tracked));
+        List<Product> exported = new ArrayList<>();
+        AtomicBoolean written = new AtomicBoolean();
+        // One worker reads the ranges in turn and reports progress between them, so the writes
+        // below commit before the last range is opened.
+        ParallelCatalogExporter sequential = new ParallelCatalogExporter(dataRetriever, new DBConnection(), 1, 2, 4);
+
+        sequential.exportOrdered(ProductCriteria.of(null, null, null, null, 0, 0), exported::add, progress -> {
+            if (written.compareAndSet(false, true)) {
+                try (Connection conn = new DBConnection().getDBConnection();
+                     Statement stmt = conn.createStatement()) {
+                    stmt.executeUpdate("UPDATE product SET name = '" + PREFIX + "renamed' WHERE id = " +
+                            tracked.getId());
+                    stmt.executeUpdate("INSERT INTO product (name, price) VALUES ('" + PREFIX + "late', 1.0)");
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+
+        assertEquals(PREFIX + "original", exported.getLast().getName(),
+                "The last range should not see the rename committed during the export");
+        assertTrue(exported.stream().noneMatch(product -> product.getName().equals(PREFIX + "late")));
+    }
+}
@@ -0,0 +1,46 @@
+package com.productmanagement.dao;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostingListTest {
+
+    @Test
+    @DisplayName("Test 1: Ids should round-trip through the gap encoding")
+    void testAdd_ShouldRoundTrip() {
+        PostingList postings = new PostingList();
+        int[] ids = {1, 2, 130, 20000, 3_000_000, Integer.MAX_VALUE};
+        for (int id : ids) {
+            postings.add(id);
+        }
+
+        assertArrayEquals(ids, postings.toArray());
+        assertEquals(ids.length, postings.size());
+    }
+
+    @Test
+    @DisplayName("Test 2: Out-of-order and duplicate ids should keep the list sorted and unique")
+    void testAdd_OutOfOrder_ShouldStaySorted() {
+        PostingList postings = new PostingList();
+        for (int id : new int[]{10, 50, 30, 10, 5, 50}) {
+            postings.add(id);
+        }
+
+        assertArrayEquals(new int[]{5, 10, 30, 50}, postings.toArray());
+        assertTrue(postings.hasPending(), "Out-of-order ids should be buffered");
+
+        postings.compact();
+        assertFalse(postings.hasPending());
+        assertArrayEquals(new int[]{5, 10, 30, 50}, postings.toArray());
+        assertEquals(4, postings.size());
+        postings.add(60);
+        assertArrayEquals(new int[]{5, 10, 30, 50, 60}, postings.toArray());
+    }
+
+    @Test
+    @DisplayName("Test 3: intersect should keep common ids only")
+    void testIntersect() {
+        assertArrayEquals(new int[]{3, 9}, PostingList.intersect(new int[]{1, 3, 5, 9}, new int[]{2, 3, 9, 11}));
+        assertArrayEquals(new int[0], PostingList.intersect(new int[]{1}, new int[0]));
+    }
+}
@@ -0,0 +1,109 @@
+package com.productmanagement.dao;
+
+import com.productmanagement.model.Category;
+import com.productmanagement.model.Product;
+import org.junit.jupiter.api.*;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductQueryCacheTest {
+
+    @Test
+    @DisplayName("Test 1: Criteria differing only in case and padding should share a cache entry")
+    void testNormalizedCriteria_ShouldShareEntry() throws SQLException {
+        ProductQueryCache cache = new ProductQueryCache(10, 60000);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(ProductCriteria.of(" Dell ", null, null, null, 1, 10), () -> load(loads));
+        cache.get(ProductCriteria.of("dell", "", null, null, 1, 10), () -> load(loads));
+
+        assertEquals(1, loads.get(), "Normalized criteria should hit the same entry");
+        assertEquals(0.5, cache.getStats().getHitRate(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Test 2: Different pages should not share a cache entry")
+    void testDifferentPages_ShouldNotShareEntry() throws SQLException {
+        ProductQueryCache cache = new ProductQueryCache(10, 60000);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(ProductCriteria.of(null, null, null, null, 1, 10), () -> load(loads));
+        cache.get(ProductCriteria.of(null, null, null, null, 2, 10), () -> load(loads));
+
+        assertEquals(2, loads.get(), "Each page should be loaded separately");
+    }
+
+    @Test
+    @DisplayName("Test 3: Concurrent identical misses should share one load")
+    void testConcurrentMisses_ShouldCoalesce() throws Exception {
+        ProductQueryCache cache = new ProductQueryCache(10, 60000);
+        ProductCriteria criteria = ProductCriteria.of(null, "audio", null, null, 0, 0);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<Product>> first = executor.submit(() -> cache.get(criteria, () -> {
+                loaderStarted.countDown();
+                awaitQuietly(releaseLoader);
+                return load(loads);
+            }));
+            assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+            Future<List<Product>> second = executor.submit(() -> cache.get(criteria, () -> load(loads)));
+
+            while (cache.getCoalescedLoadCount() == 0) {
+                Thread.onSpinWait();
+            }
+            releaseLoader.countDown();
+
+            List<Product> firstResult = first.get(5, TimeUnit.SECONDS);
+            List<Product> secondResult = second.get(5, TimeUnit.SECONDS);
+            assertEquals(1, loads.get(), "Loader should run once");
+            assertEquals(firstResult.size(), secondResult.size(), "Both callers should receive the loaded result");
+            assertNotSame(firstResult.getFirst(), secondResult.getFirst(), "Each caller should get its own copy");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Test 4: Changing a returned product should not change the cached result")
+    void testReturnedProducts_ShouldNotShareCachedInstances() throws SQLException {
+        ProductQueryCache cache = new ProductQueryCache(10, 60000);
+        ProductCriteria criteria = ProductCriteria.of("dell", null, null, null, 0, 0);
+        TtlCache.Loader<List<Product>> loader = () -> List.of(
+                new Product(1, "Dell XPS", 1500.0, null, new Category(1, "Informatique")));
+
+        List<Product> loaded = cache.get(criteria, loader);
+        loaded.getFirst().setName("Changed by the loading caller");
+        List<Product> hit = cache.get(criteria, loader);
+        hit.getFirst().setName("Changed by a later caller");
+        hit.getFirst().getCategories().getFirst().setName("Changed category");
+
+        Product cached = cache.get(criteria, loader).getFirst();
+        assertEquals("Dell XPS", cached.getName());
+        assertEquals("Informatique", cached.getCategories().getFirst().getName());
+        assertEquals(2, cache.getStats().getHitCount());
+    }
+
+    private void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<Product> load(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return List.of(new Product());
+    }
+}
@@ -0,0 +1,120 @@
+package com.productmanagement.dao;
+
+import com.productmanagement.DBConnection;
+import com.productmanagement.SchemaMigrator;
+import com.productmanagement.model.Category;
+import com.productmanagement.model.Product;
+import org.junit.jupiter.api.*;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProductReadModelTest {
+    private static final String PREFIX = "ReadModelTest ";
+
+    private DataRetriever baseRetriever;
+    private DataRetriever readModelRetriever;
+
+    @BeforeAll
+    void setUp() throws SQLException {
+        new SchemaMigrator().migrate();
+        DBConnection dbConnection = new DBConnection();
+        baseRetriever = DataRetriever.builder(dbConnection).build();
+        readModelRetriever = DataRetriever.builder(dbConnection).useReadModel(true).build();
+    }
+
+    @AfterEach
+    void cleanUp() throws SQLException {
+        try (Connection conn = new DBConnection().getDBConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM product WHERE name LIKE '" + PREFIX + "%'");
+        }
+    }
+
+    @Test
+    @DisplayName("Test 1: Read model should return the same rows as the aggregating queries")
+    void testReadModel_ShouldMatchBaseTables() {
+        assertEquals(describe(baseRetriever.getProductList(1, 10)),
+                describe(readModelRetriever.getProductList(1, 10)), "Product list should match");
+        assertEquals(describe(baseRetriever.getProductsByCriteria(null, "info", null, null)),
+                describe(readModelRetriever.getProductsByCriteria(null, "info", null, null)),
+                "Criteria query should match");
+        assertEquals(describe(baseRetriever.getProductPage(null, 2).getProducts()),
+                describe(readModelRetriever.getProductPage(null, 2).getProducts()), "Keyset page should match");
+    }
+
+    @Test
+    @DisplayName("Test 2: Triggers should keep the read model current on writes")
+    void testReadModel_ShouldFollowWrites() throws SQLException {
+        ProductWriter writer = new ProductWriter(10);
+        Product product = new Product(0, PREFIX + "tracked", 15.0, null, new Category(0, "ReadModelA"));
+        writer.insertProducts(List.of(product));
+        writer.insertCategories(product.getId(), List.of(new Category(0, "ReadModelB")));
+
+        List<Product> stored = readModelRetriever.getProductsByCriteria(PREFIX, null, null, null);
+        assertEquals(1, stored.size(), "Inserted product should be projected");
+        assertEquals("ReadModelA, ReadModelB", stored.getFirst().getCategoryName(),
+                "Both categories should be aggregated");
+
+        try (Connection conn = new DBConnection().getDBConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM product_category WHERE name = 'ReadModelA'");
+            stmt.executeUpdate("UPDATE product SET price = 20 WHERE id = " + product.getId());
+        }
+
+        Product updated = readModelRetriever.getProductsByCriteria(PREFIX, null, null, null).getFirst();
+        assertEquals("ReadModelB", updated.getCategoryName(), "Deleted category should be dropped");
+        assertEquals(20.0, updated.getPrice(), "Price update should be projected");
+    }
+
+    @Test
+    @DisplayName("Test 3: Concurrent category inserts on one product should both reach the read model")
+    void testReadModel_ShouldNotLoseConcurrentUpdates() throws Exception {
+        ProductWriter writer = new ProductWriter(10);
+        Product product = new Product(0, PREFIX + "concurrent", 15.0, null, null);
+        writer.insertProducts(List.of(product));
+        String insert = "INSERT INTO product_category (name, product_id) VALUES ('%s', " + product.getId() + ")";
+
+        try (Connection first = new DBConnection().getDBConnection();
+             Connection second = new DBConnection().getDBConnection()) {
+            first.setAutoCommit(false);
+            second.setAutoCommit(false);
+            try (Statement stmt = first.createStatement()) {
+                stmt.executeUpdate(String.format(insert, "ReadModelFirst"));
+            }
+            // The second refresh has to wait for the first transaction and then see its row.
+            CompletableFuture<Void> concurrent = CompletableFuture.runAsync(() -> {
+                try (Statement stmt = second.createStatement()) {
+                    stmt.executeUpdate(String.format(insert, "ReadModelSecond"));
+                    second.commit();
+                } catch (SQLException e) {
+                    throw new CompletionException(e);
+                }
+            });
+            Thread.sleep(300);
+            assertFalse(concurrent.isDone(), "Second writer should wait for the product lock");
+            first.commit();
+            concurrent.get(10, TimeUnit.SECONDS);
+        }
+
+        Product stored = readModelRetriever.getProductsByCriteria(PREFIX + "concurrent", null, null, null).getFirst();
+        assertEquals("ReadModelFirst, ReadModelSecond", stored.getCategoryName(),
+                "Neither writer's category should be lost");
+    }
+
+    private String describe(List<Product> products) {
+        StringBuilder description = new StringBuilder();
+        for (Product product : products) {
+            description.append(product.getId()).append('|').append(product.getName()).append('|')
+                    .append(product.getPrice()).append('|').append(product.getCreationDateTime()).append('|')
+                    .append(product.getCategoryName()).append('\n');
+        }
+        return description.toString();
+    }
+}
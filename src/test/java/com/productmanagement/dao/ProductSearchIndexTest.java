@@ -0,0 +1,114 @@
+package com.productmanagement.dao;
+
+import com.productmanagement.DBConnection;
+import com.productmanagement.model.Category;
+import com.productmanagement.model.Product;
+import org.junit.jupiter.api.*;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProductSearchIndexTest {
+    private static final String PREFIX = "SearchIndexTest ";
+
+    private ProductSearchIndex searchIndex;
+    private DataRetriever databaseRetriever;
+    private DataRetriever indexedRetriever;
+
+    @BeforeAll
+    void setUp() {
+        DBConnection dbConnection = new DBConnection();
+        searchIndex = new ProductSearchIndex(1000);
+        databaseRetriever = DataRetriever.builder(dbConnection).build();
+        indexedRetriever = DataRetriever.builder(dbConnection).searchIndex(searchIndex).build();
+    }
+
+    @AfterEach
+    void cleanUp() throws SQLException {
+        try (Connection conn = new DBConnection().getDBConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM product WHERE name LIKE '" + PREFIX + "%'");
+        }
+    }
+
+    @AfterAll
+    void tearDown() {
+        searchIndex.close();
+    }
+
+    @Test
+    @DisplayName("Test 1: Index should resolve candidates and leave short or wildcard terms to the database")
+    void testCandidates() throws SQLException {
+        searchIndex.rebuild();
+
+        assertArrayEquals(new int[]{1, 5}, searchIndex.candidates(null, "INFO"), "Informatique products");
+        assertArrayEquals(new int[]{5}, searchIndex.candidates("samsung", "info"), "Both filters intersect");
+        assertArrayEquals(new int[0], searchIndex.candidates("nothing-like-this", null), "Unknown term");
+        assertNull(searchIndex.candidates("de", null), "Terms shorter than a trigram are not indexed");
+        assertNull(searchIndex.candidates("de%l", null), "LIKE wildcards are not indexed");
+        assertNull(searchIndex.candidates(null, null), "No filter means no candidates");
+    }
+
+    @Test
+    @DisplayName("Test 2: Indexed queries should return the same rows as the database")
+    void testIndexedQueries_ShouldMatchDatabase() throws SQLException {
+        searchIndex.rebuild();
+        String[][] filters = {{"dell", null}, {null, "info"}, {"iphone", "mobile"}, {"sam", "bureau"},
+                {"de", null}, {"xyz", null}};
+        for (String[] filter : filters) {
+            assertEquals(ids(databaseRetriever.getProductsByCriteria(filter[0], filter[1], null, null)),
+                    ids(indexedRetriever.getProductsByCriteria(filter[0], filter[1], null, null)),
+                    "Filter " + filter[0] + "/" + filter[1] + " should match");
+        }
+        assertEquals(databaseRetriever.countProductsByCriteria(null, "info", null, null),
+                indexedRetriever.countProductsByCriteria(null, "info", null, null), "Counts should match");
+    }
+
+    @Test
+    @DisplayName("Test 3: refresh should index products and categories added since the last load")
+    void testRefresh_ShouldIndexNewRows() throws SQLException {
+        searchIndex.rebuild();
+        Product product = new Product(0, PREFIX + "Zephyrine", 1.0, Instant.now(), new Category(0, "Quasarine"));
+        new ProductWriter(10).insertProducts(List.of(product));
+        new ProductWriter(10).insertCategories(1, List.of(new Category(0, "Quasarine")));
+        searchIndex.refresh();
+
+        assertArrayEquals(new int[]{product.getId()}, searchIndex.candidates("zephyr", null));
+        assertArrayEquals(new int[]{1, product.getId()}, searchIndex.candidates(null, "quasar"),
+                "Category added to an older product should be merged into the postings");
+
+        try (Connection conn = new DBConnection().getDBConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM product_category WHERE name = 'Quasarine'");
+        }
+    }
+
+    @Test
+    @DisplayName("Test 4: Rows written after the last load should still match indexed queries")
+    void testIndexedQueries_ShouldIncludeUnindexedRows() throws SQLException {
+        searchIndex.rebuild();
+        Product product = new Product(0, PREFIX + "Nebulon", 1.0, Instant.now(), new Category(0, "Pulsarine"));
+        new ProductWriter(10).insertProducts(List.of(product));
+        new ProductWriter(10).insertCategories(1, List.of(new Category(0, "Pulsarine")));
+
+        assertArrayEquals(new int[0], searchIndex.candidates("nebulon", null), "Index has not seen the product");
+        assertEquals(List.of(product.getId()), ids(indexedRetriever.getProductsByCriteria("nebulon", null, null, null)),
+                "Products above the indexed high-water mark should pass through");
+        assertEquals(ids(databaseRetriever.getProductsByCriteria(null, "pulsar", null, null)),
+                ids(indexedRetriever.getProductsByCriteria(null, "pulsar", null, null)),
+                "Category rows added to indexed products should pass through");
+
+        try (Connection conn = new DBConnection().getDBConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM product_category WHERE name = 'Pulsarine'");
+        }
+    }
+
+    private List<Integer> ids(List<Product> products) {
+        return products.stream().map(Product::getId).toList();
+    }
+}
@@ -0,0 +1,111 @@
+package com.productmanagement.dao;
+
+import com.productmanagement.DBConnection;
+import com.productmanagement.model.Category;
+import com.productmanagement.model.Product;
+import org.junit.jupiter.api.*;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProductSnapshotTest {
+    private static final String PREFIX = "SnapshotTest ";
+
+    private ProductSnapshot snapshot;
+    private DataRetriever databaseRetriever;
+    private DataRetriever snapshotRetriever;
+
+    @BeforeAll
+    void setUp() {
+        DBConnection dbConnection = new DBConnection();
+        snapshot = new ProductSnapshot(2);
+        databaseRetriever = DataRetriever.builder(dbConnection).build();
+        snapshotRetriever = DataRetriever.builder(dbConnection).snapshot(snapshot).build();
+    }
+
+    @AfterEach
+    void cleanUp() throws SQLException {
+        try (Connection conn = new DBConnection().getDBConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM product WHERE name LIKE '" + PREFIX + "%'");
+        }
+    }
+
+    @AfterAll
+    void tearDown() {
+        snapshot.close();
+    }
+
+    @Test
+    @DisplayName("Test 1: Snapshot should answer queries exactly like the database")
+    void testSnapshot_ShouldMatchDatabase() throws SQLException {
+        snapshot.reload();
+        Instant feb1 = LocalDateTime.of(2024, 2, 1, 0, 0).atZone(ZoneId.systemDefault()).toInstant();
+        Instant mar1 = LocalDateTime.of(2024, 3, 1, 0, 0).atZone(ZoneId.systemDefault()).toInstant();
+
+        assertEquals(describe(databaseRetriever.getProductList(1, 10)),
+                describe(snapshotRetriever.getProductList(1, 10)), "Product list should match");
+        assertEquals(describe(databaseRetriever.getProductList(2, 2)),
+                describe(snapshotRetriever.getProductList(2, 2)), "Second page should match");
+
+        Object[][] criteria = {
+                {"dell", null, null, null, 0, 0},
+                {null, "INFO", null, null, 0, 0},
+                {"iphone", "mobile", null, null, 0, 0},
+                {null, null, feb1, mar1, 0, 0},
+                {null, "télé", null, null, 0, 0},
+                {null, null, null, null, 2, 2},
+                {"  ", "  ", null, null, 0, 0},
+                {"d_ll", null, null, null, 0, 0},
+                {"%", "inf%que", null, null, 0, 0}
+        };
+        for (Object[] c : criteria) {
+            assertEquals(describe(databaseRetriever.getProductsByCriteria((String) c[0], (String) c[1],
+                            (Instant) c[2], (Instant) c[3], (Integer) c[4], (Integer) c[5])),
+                    describe(snapshotRetriever.getProductsByCriteria((String) c[0], (String) c[1],
+                            (Instant) c[2], (Instant) c[3], (Integer) c[4], (Integer) c[5])),
+                    "Criteria " + Arrays.toString(c) + " should match");
+        }
+        assertNull(snapshot.getProductsByCriteria("d_ll", null, null, null, 0, 0),
+                "LIKE wildcards should be left to the database");
+        assertTrue(snapshot.estimatedBytes() > 0, "Snapshot should report its footprint");
+    }
+
+    @Test
+    @DisplayName("Test 2: refresh should append new products and reload should drop deleted ones")
+    void testSnapshot_ShouldRefreshIncrementally() throws SQLException {
+        snapshot.reload();
+        int before = snapshot.size();
+
+        Product product = new Product(0, PREFIX + "fresh", 42.0, Instant.parse("2024-06-01T10:00:00Z"),
+                new Category(0, "SnapshotCategory"));
+        new ProductWriter(10).insertProducts(List.of(product));
+        snapshot.refresh();
+
+        assertEquals(before + 1, snapshot.size(), "Refresh should append the new product");
+        List<Product> found = snapshot.getProductsByCriteria(PREFIX, "snapshotcat", null, null, 0, 0);
+        assertEquals(1, found.size(), "New product should be searchable");
+        assertEquals(product.getId(), found.getFirst().getId());
+
+        cleanUp();
+        snapshot.reload();
+        assertEquals(before, snapshot.size(), "Reload should drop the deleted product");
+    }
+
+    private String describe(List<Product> products) {
+        StringBuilder description = new StringBuilder();
+        for (Product product : products) {
+            description.append(product.getId()).append('|').append(product.getName()).append('|')
+                    .append(product.getPrice()).append('|').append(product.getCreationDateTime()).append('|')
+                    .append(product.getCategoryName()).append('\n');
+        }
+        return description.toString();
+    }
+}
@@ -0,0 +1,72 @@
+package com.productmanagement.dao;
+
+import com.productmanagement.DBConnection;
+import com.productmanagement.model.Category;
+import com.productmanagement.model.Product;
+import org.junit.jupiter.api.*;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProductWriterTest {
+    private static final String PREFIX = "WriterTest ";
+
+    private ProductWriter productWriter;
+    private DataRetriever dataRetriever;
+
+    @BeforeAll
+    void setUp() {
+        productWriter = new ProductWriter(2);
+        dataRetriever = new DataRetriever();
+    }
+
+    @AfterEach
+    void cleanUp() throws SQLException {
+        try (Connection conn = new DBConnection().getDBConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM product WHERE name LIKE '" + PREFIX + "%'");
+        }
+        dataRetriever.invalidateCategoryCache();
+        dataRetriever.invalidateProductQueryCache();
+    }
+
+    @Test
+    @DisplayName("Test 1: insertProducts should assign generated ids across batches")
+    void testInsertProducts_ShouldAssignGeneratedIds() throws SQLException {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            products.add(new Product(0, PREFIX + i, 10.0 + i, Instant.parse("2024-06-01T10:00:00Z"),
+                    new Category(0, "WriterCategory" + i)));
+        }
+
+        assertEquals(5, productWriter.insertProducts(products), "Should insert all products");
+
+        for (Product product : products) {
+            assertTrue(product.getId() > 0, "Product should have a generated ID");
+            assertTrue(product.getCategory().getId() > 0, "Category should have a generated ID");
+        }
+        List<Product> stored = dataRetriever.getProductsByCriteria(PREFIX, null, null, null);
+        assertEquals(5, stored.size(), "Inserted products should be readable");
+        assertEquals("WriterCategory3", stored.get(3).getCategoryName(), "Category should reference its product");
+    }
+
+    @Test
+    @DisplayName("Test 2: insertCategories should attach categories to an existing product")
+    void testInsertCategories_ShouldAttachToProduct() throws SQLException {
+        Product product = new Product(0, PREFIX + "categories", 5.0, null, null);
+        productWriter.insertProducts(List.of(product));
+
+        int inserted = productWriter.insertCategories(product.getId(),
+                List.of(new Category(0, "WriterA"), new Category(0, "WriterB"), new Category(0, "WriterC")));
+
+        assertEquals(3, inserted, "Should insert all categories");
+        List<Product> stored = dataRetriever.getProductsByCriteria(PREFIX + "categories", "WriterB", null, null);
+        assertEquals(1, stored.size(), "Product should be found by its new category");
+        assertNotNull(stored.getFirst().getCreationDateTime(), "Missing creation date should default to now");
+    }
+}
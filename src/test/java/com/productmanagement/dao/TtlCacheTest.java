@@ -0,0 +1,65 @@
+package com.productmanagement.dao;
+
+import org.junit.jupiter.api.*;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TtlCacheTest {
+
+    @Test
+    @DisplayName("Test 1: Second lookup should be served from cache")
+    void testRepeatedLookup_ShouldHitCache() throws SQLException {
+        TtlCache<String, String> cache = new TtlCache<>(10, 60000);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("a", () -> "value-" + loads.incrementAndGet());
+        String second = cache.get("a", () -> "value-" + loads.incrementAndGet());
+
+        assertEquals("value-1", second, "Should return the cached value");
+        assertEquals(1, loads.get(), "Loader should run once");
+        assertEquals(1, cache.stats().getHitCount());
+        assertEquals(1, cache.stats().getMissCount());
+    }
+
+    @Test
+    @DisplayName("Test 2: Expired entries should be reloaded")
+    void testExpiredEntry_ShouldReload() throws SQLException {
+        TtlCache<String, String> cache = new TtlCache<>(10, 0);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("a", () -> "value-" + loads.incrementAndGet());
+        String second = cache.get("a", () -> "value-" + loads.incrementAndGet());
+
+        assertEquals("value-2", second, "Expired entry should be loaded again");
+    }
+
+    @Test
+    @DisplayName("Test 3: Least recently used entry should be evicted when full")
+    void testSizeBound_ShouldEvictLeastRecentlyUsed() throws SQLException {
+        TtlCache<String, String> cache = new TtlCache<>(2, 60000);
+        cache.get("a", () -> "A");
+        cache.get("b", () -> "B");
+        cache.getIfPresent("a");
+        cache.get("c", () -> "C");
+
+        assertNotNull(cache.getIfPresent("a"), "Recently used entry should stay");
+        assertNull(cache.getIfPresent("b"), "Least recently used entry should be evicted");
+        assertEquals(1, cache.stats().getEvictionCount());
+    }
+
+    @Test
+    @DisplayName("Test 4: Invalidation should drop entries and loads racing with it")
+    void testInvalidation_ShouldDropEntries() throws SQLException {
+        TtlCache<String, String> cache = new TtlCache<>(10, 60000);
+        cache.get("a", () -> "A");
+        cache.invalidateAll();
+        assertNull(cache.getIfPresent("a"), "Invalidated entry should be gone");
+
+        cache.get("b", () -> {
+            cache.invalidateAll();
+            return "stale";
+        });
+        assertNull(cache.getIfPresent("b"), "Value loaded across an invalidation should not be cached");
+    }
+}
@@ -0,0 +1,90 @@
+package com.productmanagement.generator;
+
+import org.junit.jupiter.api.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogGeneratorTest {
+
+    @Test
+    @DisplayName("Test 1: Same seed should generate identical catalogs")
+    void testSameSeed_ShouldBeDeterministic() throws IOException {
+        GeneratorConfig config = smallConfig();
+
+        String first = read(new CatalogGenerator(config).productCsv());
+        String second = read(new CatalogGenerator(config).productCsv());
+
+        assertEquals(first, second, "Generation should be deterministic for a seed");
+        assertEquals(1001, first.lines().count(), "Should have a header and 1000 product rows");
+    }
+
+    @Test
+    @DisplayName("Test 2: Topping up from a first index should match a single generation")
+    void testFirstIndex_ShouldContinueSameSequence() throws IOException {
+        GeneratorConfig full = smallConfig();
+        GeneratorConfig tail = smallConfig();
+        tail.setFirstIndex(600);
+        tail.setProductCount(400);
+
+        List<String> fullRows = read(new CatalogGenerator(full).productCsv()).lines().toList();
+        List<String> tailRows = read(new CatalogGenerator(tail).productCsv()).lines().toList();
+
+        assertEquals(fullRows.subList(601, 1001), tailRows.subList(1, 401),
+                "Rows should depend only on seed and product index");
+    }
+
+    @Test
+    @DisplayName("Test 3: Generated rows should respect fan-out and date bounds")
+    void testGeneratedRows_ShouldRespectBounds() throws IOException {
+        GeneratorConfig config = smallConfig();
+        CatalogGenerator generator = new CatalogGenerator(config);
+
+        for (int i = 0; i < config.getProductCount(); i++) {
+            int[] categories = generator.categoriesOf(i);
+            assertTrue(categories.length <= config.getMaxCategoriesPerProduct(), "Fan-out should be bounded");
+            assertEquals(categories.length, java.util.Arrays.stream(categories).distinct().count(),
+                    "Categories of a product should be distinct");
+        }
+
+        read(generator.productCsv()).lines().skip(1).forEach(row -> {
+            String[] columns = row.split(",");
+            Instant created = LocalDateTime.parse(columns[3].replace(' ', 'T')).toInstant(ZoneOffset.UTC);
+            assertFalse(created.isBefore(config.getCreationStart()), "Creation date should not precede start");
+            assertTrue(created.isBefore(config.getCreationEnd()), "Creation date should precede end");
+            assertTrue(Double.parseDouble(columns[2]) > 0, "Price should be positive");
+        });
+    }
+
+    @Test
+    @DisplayName("Test 4: A maximum fan-out of zero should leave every product uncategorized")
+    void testZeroMaxCategories_ShouldGenerateNoCategories() {
+        GeneratorConfig config = smallConfig();
+        config.setMaxCategoriesPerProduct(0);
+        CatalogGenerator generator = new CatalogGenerator(config);
+
+        for (int i = 0; i < config.getProductCount(); i++) {
+            assertEquals(0, generator.categoriesOf(i).length);
+        }
+    }
+
+    private GeneratorConfig smallConfig() {
+        GeneratorConfig config = new GeneratorConfig();
+        config.setSeed(7);
+        config.setProductCount(1000);
+        config.setCategoryCount(20);
+        config.setMaxCategoriesPerProduct(3);
+        return config;
+    }
+
+    private String read(InputStream input) throws IOException {
+        try (input) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.productmanagement.metrics;
+
+import org.junit.jupiter.api.*;
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JmxMetricsSinkTest {
+
+    @Test
+    @DisplayName("Test 1: Each tag should be published as a live MXBean and removed on close")
+    void testRecord_ShouldRegisterLiveBean() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        JmxMetricsSink sink = new JmxMetricsSink(server, "com.productmanagement.test");
+        ObjectName name = sink.objectName("getProductList", "none");
+
+        sink.record(new QueryEvent("getProductList", "none", 2_000_000, 100_000, 5, 400, false));
+        assertTrue(server.isRegistered(name), "First event should register the bean");
+        sink.record(new QueryEvent("getProductList", "none", 4_000_000, 0, 5, 400, true));
+
+        assertEquals(2L, server.getAttribute(name, "Count"));
+        assertEquals(1L, server.getAttribute(name, "ErrorCount"));
+        assertEquals(10L, server.getAttribute(name, "RowsReturned"));
+        assertEquals(3.0, (Double) server.getAttribute(name, "MeanLatencyMillis"), 0.001);
+
+        sink.close();
+        assertFalse(server.isRegistered(name), "close should unregister the bean");
+    }
+}
@@ -0,0 +1,43 @@
+package com.productmanagement.metrics;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Test 1: Bucket upper bounds should cover the values mapped to them")
+    void testBuckets_ShouldCoverValues() {
+        for (long micros : new long[]{0, 1, 3, 4, 7, 8, 9, 10, 1000, 123_456, 1L << 35}) {
+            int bucket = LatencyHistogram.bucket(micros);
+            assertTrue(LatencyHistogram.upperBound(bucket) >= micros, "Upper bound too small for " + micros);
+            assertTrue(bucket == 0 || LatencyHistogram.upperBound(bucket - 1) < micros,
+                    "Previous bucket should end below " + micros);
+        }
+    }
+
+    @Test
+    @DisplayName("Test 2: Percentiles should be within a quarter of the recorded values")
+    void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.recordNanos(i * 1_000_000L);
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(50.5, histogram.getMeanMillis(), 0.001);
+        assertEquals(100.0, histogram.getMaxMillis(), 0.001);
+        assertEquals(50.0, histogram.getPercentileMillis(0.50), 50.0 * 0.25);
+        assertEquals(99.0, histogram.getPercentileMillis(0.99), 99.0 * 0.25);
+        assertTrue(histogram.getPercentileMillis(1.0) <= 100.0, "Percentiles should not exceed the maximum");
+    }
+
+    @Test
+    @DisplayName("Test 3: An empty histogram should report zeros")
+    void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0.0, histogram.getMeanMillis());
+        assertEquals(0.0, histogram.getPercentileMillis(0.99));
+    }
+}
@@ -2,6 +2,7 @@ package com.productmanagement.model;
 
 import org.junit.jupiter.api.*;
 import java.time.Instant;
+import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 
 class ProductTest {
@@ -39,6 +40,17 @@ class ProductTest {
         assertEquals("N/A", product.getCategoryName());
     }
 
+    @Test
+    @DisplayName("Test getCategoryName joins multiple categories")
+    void testGetCategoryName_WithCategories() {
+        Product product = new Product();
+        product.setCategories(List.of(new Category(1, "Informatique"), new Category(2, "Bureau")));
+
+        assertEquals(2, product.getCategories().size());
+        assertEquals("Informatique", product.getCategory().getName());
+        assertEquals("Informatique, Bureau", product.getCategoryName());
+    }
+
     @Test
     @DisplayName("Test Product setters")
     void testProductSetters() {